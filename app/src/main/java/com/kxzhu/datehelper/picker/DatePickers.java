@@ -0,0 +1,59 @@
+package com.kxzhu.datehelper.picker;
+
+import android.app.DatePickerDialog;
+import android.app.TimePickerDialog;
+import android.content.Context;
+import android.widget.DatePicker;
+import android.widget.EditText;
+import android.widget.TimePicker;
+
+import com.kxzhu.datehelper.DateHelper;
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Date and time picker dialogs that write the picked value into an {@link EditText} with {@link DateHelper}.
+ * <p>
+ * The only Android-facing part of the helper; it uses only the public API of the plain Java {@code core} module.
+ */
+public final class DatePickers {
+
+    private DatePickers() {
+    }
+
+    public static DatePickerDialog datePickerDialog(final Context context, final EditText date, final boolean withTime, final DateFormats
+            dateFormats) {
+        int[] today = DateHelper.getLocalNow();
+        return new DatePickerDialog(context, new DatePickerDialog.OnDateSetListener() {
+            public void onDateSet(DatePicker view, int year, int monthOfYear, int dayOfMonth) {
+                // keeps the current time of day, as Calendar.set(year, month, day) did
+                int[] now = DateHelper.getLocalNow();
+                long datetime = DateHelper.getLocalTime(year, monthOfYear + 1, dayOfMonth, now[3], now[4], now[5]);
+                date.setText(DateHelper.getDesiredFormat(dateFormats, datetime));
+                if (withTime) {
+                    timePickerDialog(context, date, true).show();
+                }
+            }
+        }, today[0], today[1] - 1, today[2]);
+    }
+
+    public static TimePickerDialog timePickerDialog(final Context context, final EditText date, final boolean withAppend) {
+        int[] current = DateHelper.getLocalNow();
+        return new TimePickerDialog(context, new TimePickerDialog.OnTimeSetListener() {
+            // FIXME: 02/12/15 timePicker for android 4.++ < 5.0
+            @Override
+            public void onTimeSet(TimePicker view, int hourOfDay, int minutes) {
+                if (view.isShown()) {
+                    // keeps today's date and the current second, as Calendar.set(HOUR_OF_DAY / MINUTE) did
+                    int[] now = DateHelper.getLocalNow();
+                    long datetime = DateHelper.getLocalTime(now[0], now[1], now[2], hourOfDay, minutes, now[5]);
+                    String time = DateHelper.getDesiredFormat(DateFormats.HHMMA, datetime);
+                    if (withAppend) {
+                        date.setText(String.format("%s, %s", date.getText().toString(), time));
+                    } else {
+                        date.setText(time);
+                    }
+                }
+            }
+        }, current[3], current[4], true);
+    }
+}
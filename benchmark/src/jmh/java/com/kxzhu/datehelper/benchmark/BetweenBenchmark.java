@@ -0,0 +1,61 @@
+package com.kxzhu.datehelper.benchmark;
+
+import com.kxzhu.datehelper.DateHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The get*BetweenTwoDate(s) methods for every {@link DateHelper.DateFormats} constant.
+ * <p>
+ * Each invocation takes the next pair of a cycle made of the Old_Date_Str/New_Date_Str columns of the between
+ * combinations, which mostly fail to parse, followed by pairs of the constant's own renderings of the Timestamp_Val
+ * column, which succeed.
+ */
+@State(Scope.Thread)
+public class BetweenBenchmark {
+
+    @Param
+    public DateHelper.DateFormats format;
+
+    private String[][] pairs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String[][] combinations = Combinations.betweenInputs();
+        String[] rendered = Combinations.rendered(format);
+        pairs = new String[combinations.length + rendered.length][];
+        System.arraycopy(combinations, 0, pairs, 0, combinations.length);
+        for (int i = 0; i < rendered.length; i++) {
+            pairs[combinations.length + i] = new String[]{rendered[i], rendered[(i + 1) % rendered.length]};
+        }
+    }
+
+    @Benchmark
+    public Long getDaysBetweenTwoDate() {
+        String[] pair = pair();
+        return DateHelper.getDaysBetweenTwoDate(pair[0], pair[1], format);
+    }
+
+    @Benchmark
+    public Long getHoursBetweenTwoDate() {
+        String[] pair = pair();
+        return DateHelper.getHoursBetweenTwoDate(pair[0], pair[1], format);
+    }
+
+    @Benchmark
+    public Long getMinutesBetweenTwoDates() {
+        String[] pair = pair();
+        return DateHelper.getMinutesBetweenTwoDates(pair[0], pair[1], format);
+    }
+
+    private String[] pair() {
+        int i = next;
+        next = i + 1 < pairs.length ? i + 1 : 0;
+        return pairs[i];
+    }
+}
@@ -0,0 +1,127 @@
+package com.kxzhu.datehelper.benchmark;
+
+import com.kxzhu.datehelper.DateHelper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Benchmark inputs read from the pairwise combination tables that also drive DateHelperCombinatorialTest.
+ * <p>
+ * Cells are cleaned the way the tests read them: stray quotes are dropped, {@code NULL_STR} becomes a null string and
+ * {@code NULL_FORMAT} a null format. The directory is taken from the {@code combinations.dir} system property, which
+ * the Gradle build points at the project root.
+ */
+final class Combinations {
+
+    static final String PARSE = "DateHelperParseCombinations.tsv";
+    static final String BETWEEN = "DateHelperBetweenCombinations.tsv";
+    static final String GET_FORMAT = "DateHelperGetFormatCombinations.tsv";
+
+    private Combinations() {
+    }
+
+    /**
+     * @return the Input_String column of {@link #PARSE}
+     */
+    static String[] parseInputs() {
+        List<String[]> rows = read(PARSE);
+        String[] inputs = new String[rows.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = text(rows.get(i)[0]);
+        }
+        return inputs;
+    }
+
+    /**
+     * @return the Old_Date_Str and New_Date_Str columns of {@link #BETWEEN}, as {old, new} pairs
+     */
+    static String[][] betweenInputs() {
+        List<String[]> rows = read(BETWEEN);
+        String[][] pairs = new String[rows.size()][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new String[]{text(rows.get(i)[1]), text(rows.get(i)[2])};
+        }
+        return pairs;
+    }
+
+    /**
+     * @return the Timestamp_Val column of {@link #GET_FORMAT}, with ZERO, PAST, NOW and FUTURE resolved to millis
+     */
+    static long[] timestamps() {
+        List<String[]> rows = read(GET_FORMAT);
+        long[] timestamps = new long[rows.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = timestamp(text(rows.get(i)[1]));
+        }
+        return timestamps;
+    }
+
+    /**
+     * @return {@code format}'s rendering of every {@link #timestamps()} value, i.e. input that parses
+     */
+    static String[] rendered(DateHelper.DateFormats format) {
+        long[] timestamps = timestamps();
+        String[] dates = new String[timestamps.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = DateHelper.getDesiredFormat(format, timestamps[i]);
+        }
+        return dates;
+    }
+
+    static String[] concat(String[] first, String[] second) {
+        String[] all = new String[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static long timestamp(String value) {
+        Calendar calendar = Calendar.getInstance();
+        switch (value) {
+            case "ZERO":
+                return 0;
+            case "NOW":
+                return calendar.getTimeInMillis();
+            case "PAST":
+                calendar.add(Calendar.YEAR, -1);
+                return calendar.getTimeInMillis();
+            case "FUTURE":
+                calendar.add(Calendar.YEAR, 1);
+                return calendar.getTimeInMillis();
+            default:
+                return Long.parseLong(value);
+        }
+    }
+
+    private static String text(String cell) {
+        String value = cell.replace("\"", "").trim();
+        return value.equals("NULL_STR") || value.equals("NULL_FORMAT") ? null : value;
+    }
+
+    private static List<String[]> read(String name) {
+        File file = new File(System.getProperty("combinations.dir", "."), name);
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    rows.add(line.split("\t", -1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getPath(), e);
+        }
+        return rows;
+    }
+}
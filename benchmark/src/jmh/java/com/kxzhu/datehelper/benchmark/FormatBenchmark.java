@@ -0,0 +1,35 @@
+package com.kxzhu.datehelper.benchmark;
+
+import com.kxzhu.datehelper.DateHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link DateHelper#getDesiredFormat(DateHelper.DateFormats, long)} for every {@link DateHelper.DateFormats} constant,
+ * cycling through the Timestamp_Val column of the get-format combinations.
+ */
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    @Param
+    public DateHelper.DateFormats format;
+
+    private long[] timestamps;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        timestamps = Combinations.timestamps();
+    }
+
+    @Benchmark
+    public String getDesiredFormat() {
+        int i = next;
+        next = i + 1 < timestamps.length ? i + 1 : 0;
+        return DateHelper.getDesiredFormat(format, timestamps[i]);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kxzhu.datehelper.benchmark;
+
+import com.kxzhu.datehelper.DateHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link DateHelper#parseDate(String, DateHelper.DateFormats)} and {@link DateHelper#parseAnyDate(String)} for every
+ * {@link DateHelper.DateFormats} constant.
+ * <p>
+ * Each invocation parses the next string of a cycle made of the Input_String column of the parse combinations, which
+ * mostly fail or match only leniently, followed by the constant's own rendering of the Timestamp_Val column, which
+ * parses cleanly.
+ */
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    @Param
+    public DateHelper.DateFormats format;
+
+    private String[] inputs;
+    private String[] rendered;
+    private int nextInput;
+    private int nextRendered;
+
+    @Setup
+    public void setUp() {
+        rendered = Combinations.rendered(format);
+        inputs = Combinations.concat(Combinations.parseInputs(), rendered);
+    }
+
+    @Benchmark
+    public long parseDate() {
+        int i = nextInput;
+        nextInput = i + 1 < inputs.length ? i + 1 : 0;
+        return DateHelper.parseDate(inputs[i], format);
+    }
+
+    /**
+     * Only well-formed input, so the cost is detecting {@link #format} rather than trying every constant and failing.
+     */
+    @Benchmark
+    public long parseAnyDate() {
+        int i = nextRendered;
+        nextRendered = i + 1 < rendered.length ? i + 1 : 0;
+        return DateHelper.parseAnyDate(rendered[i]);
+    }
+}
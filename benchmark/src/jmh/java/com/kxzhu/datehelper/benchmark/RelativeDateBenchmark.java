@@ -0,0 +1,54 @@
+package com.kxzhu.datehelper.benchmark;
+
+import com.kxzhu.datehelper.DateHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The methods that render relative to the current day and take no {@link DateHelper.DateFormats}.
+ * <p>
+ * {@link #prettifyDate()} cycles through the Timestamp_Val column of the get-format combinations plus an instant from
+ * earlier today, so it covers both the time-only and the day-and-time branch. {@link #prettifyDates()} renders a sorted
+ * feed of {@link #FEED_SIZE} timestamps 40 seconds apart, ending now, in one call.
+ */
+@State(Scope.Thread)
+public class RelativeDateBenchmark {
+
+    static final int FEED_SIZE = 1000;
+
+    private long[] timestamps;
+    private long[] feed;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long[] combinations = Combinations.timestamps();
+        timestamps = new long[combinations.length + 1];
+        System.arraycopy(combinations, 0, timestamps, 0, combinations.length);
+        timestamps[combinations.length] = System.currentTimeMillis() - 1000;
+        feed = new long[FEED_SIZE];
+        for (int i = 0; i < FEED_SIZE; i++) {
+            feed[i] = System.currentTimeMillis() - (FEED_SIZE - i) * 40 * 1000L;
+        }
+    }
+
+    @Benchmark
+    public String prettifyDate() {
+        int i = next;
+        next = i + 1 < timestamps.length ? i + 1 : 0;
+        return DateHelper.prettifyDate(timestamps[i]);
+    }
+
+    @Benchmark
+    public String[] prettifyDates() {
+        return DateHelper.prettifyDates(feed);
+    }
+
+    @Benchmark
+    public String getTomorrow() {
+        return DateHelper.getTomorrow();
+    }
+}
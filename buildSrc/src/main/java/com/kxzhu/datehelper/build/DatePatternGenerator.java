@@ -0,0 +1,353 @@
+package com.kxzhu.datehelper.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes a straight-line parser and formatter class for every {@code DateHelper.DateFormats} constant, plus
+ * {@code GeneratedPatterns}, which picks one with a switch on the constant.
+ * <p>
+ * The constants and their patterns are read from the enum's source, so the generated code always matches it. A parser is
+ * the pattern's steps unrolled into calls to {@code DatePattern}'s step methods with every literal and field kind
+ * written in; a formatter likewise unrolls the pads and names. The grammar is {@code DatePattern.compile}'s, and a
+ * pattern it rejects fails the build here too. Kept free of Gradle types so it can also be run by hand:
+ * {@code java DatePatternGenerator <DateHelper.java> <output dir>}.
+ */
+public final class DatePatternGenerator {
+
+    static final String PACKAGE = "com.kxzhu.datehelper";
+
+    private static final Pattern ENUM = Pattern.compile("enum\\s+DateFormats\\s*\\{([^;]*);");
+    private static final Pattern CONSTANT = Pattern.compile("([A-Za-z_][A-Za-z0-9_]*)\\s*\\(\\s*\"([^\"\\\\]*)\"\\s*\\)");
+
+    private DatePatternGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        generate(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * Replaces the generated sources in {@code outputDir} with ones for the constants declared in {@code enumSource}.
+     */
+    public static void generate(File enumSource, File outputDir) throws IOException {
+        Map<String, String> formats = readFormats(new String(Files.readAllBytes(enumSource.toPath()),
+                StandardCharsets.UTF_8));
+        File packageDir = new File(outputDir, PACKAGE.replace('.', File.separatorChar));
+        deleteRecursively(outputDir);
+        if (!packageDir.mkdirs()) {
+            throw new IOException("Cannot create " + packageDir);
+        }
+        for (Map.Entry<String, String> format : formats.entrySet()) {
+            write(new File(packageDir, parserName(format.getKey()) + ".java"),
+                    parser(format.getKey(), format.getValue()));
+            write(new File(packageDir, formatterName(format.getKey()) + ".java"),
+                    formatter(format.getKey(), format.getValue()));
+        }
+        write(new File(packageDir, "GeneratedPatterns.java"), dispatcher(formats));
+    }
+
+    /**
+     * @return the constants in declaration order, mapped to their patterns
+     */
+    static Map<String, String> readFormats(String source) {
+        Matcher body = ENUM.matcher(source);
+        if (!body.find()) {
+            throw new IllegalArgumentException("No enum DateFormats found");
+        }
+        Map<String, String> formats = new LinkedHashMap<>();
+        Matcher constant = CONSTANT.matcher(body.group(1));
+        while (constant.find()) {
+            formats.put(constant.group(1), constant.group(2));
+        }
+        if (formats.isEmpty()) {
+            throw new IllegalArgumentException("enum DateFormats declares no constants");
+        }
+        return formats;
+    }
+
+    static String parserName(String constant) {
+        return constant + "_Parser";
+    }
+
+    static String formatterName(String constant) {
+        return constant + "_Formatter";
+    }
+
+    static String parser(String constant, String pattern) {
+        StringBuilder out = header(constant, pattern);
+        String name = parserName(constant);
+        out.append("import java.util.TimeZone;\n\n");
+        out.append("final class ").append(name).append(" {\n\n");
+        out.append("    private ").append(name).append("() {\n    }\n\n");
+        out.append("    static void parse(CharSequence text, int start, int end, DateSymbols symbols, TimeZone zone,\n");
+        out.append("                      int centuryStartYear, DateParseResult result) {\n");
+        List<String> assigned = new ArrayList<>();
+        out.append("        int pos = start;\n");
+        out.append("        int value;\n");
+        for (Step step : steps(pattern)) {
+            out.append("        // ").append(step.text).append('\n');
+            if (step.letter == 0) {
+                out.append("        if ((pos = DatePattern.literal(text, pos, end, ").append(charLiteral(step.literal))
+                        .append(", result)) < 0) {\n            return;\n        }\n");
+                continue;
+            }
+            String read;
+            String variable;
+            String assignment = "value";
+            switch (step.letter) {
+                case 'y':
+                    variable = "year";
+                    read = step.count <= 2
+                            ? "DatePattern.shortYear(text, pos, end, symbols, centuryStartYear, result)"
+                            : "DatePattern.number(text, pos, end, symbols, result)";
+                    break;
+                case 'M':
+                    variable = "month";
+                    if (step.count <= 2) {
+                        read = "DatePattern.number(text, pos, end, symbols, result)";
+                        assignment = "value - 1";
+                    } else {
+                        read = "DatePattern.name(text, pos, end, symbols.monthTrie, symbols.monthNames, "
+                                + "symbols.monthValues,\n                result)";
+                    }
+                    break;
+                case 'a':
+                    variable = "amPm";
+                    read = "DatePattern.name(text, pos, end, symbols.amPmTrie, symbols.amPmNames, symbols.amPmValues,"
+                            + "\n                result)";
+                    break;
+                default:
+                    variable = variable(step.letter);
+                    read = "DatePattern.number(text, pos, end, symbols, result)";
+                    if (step.letter == 'h') {
+                        assignment = "value == 12 ? 0 : value";
+                    }
+                    break;
+            }
+            out.append("        if ((value = ").append(read).append(") < 0) {\n            return;\n        }\n");
+            out.append("        pos = result.index;\n");
+            out.append("        ").append(assigned.contains(variable) ? "" : "int ").append(variable).append(" = ")
+                    .append(assignment).append(";\n");
+            if (!assigned.contains(variable)) {
+                assigned.add(variable);
+            }
+        }
+        out.append("        DatePattern.resolve(")
+                .append(value(assigned, "year", "1970")).append(", ")
+                .append(value(assigned, "month", "0")).append(", ")
+                .append(value(assigned, "day", "1")).append(", ")
+                .append(value(assigned, "hour", "0")).append(", ")
+                .append(value(assigned, "hourOfDay", "-1")).append(", ")
+                .append(value(assigned, "amPm", "0")).append(", ")
+                .append(value(assigned, "minute", "0")).append(", ")
+                .append(value(assigned, "second", "0")).append(", zone, pos,\n")
+                .append("                result);\n");
+        out.append("    }\n}\n");
+        return out.toString();
+    }
+
+    static String formatter(String constant, String pattern) {
+        StringBuilder out = header(constant, pattern);
+        String name = formatterName(constant);
+        out.append("final class ").append(name).append(" {\n\n");
+        out.append("    private ").append(name).append("() {\n    }\n\n");
+        out.append("    /**\n     * @param month\n     *         1-12\n");
+        out.append("     * @return the number of chars written, or -1 if {@code out} is too short\n     */\n");
+        out.append("    static int format(int year, int month, int day, int hourOfDay, int secondOfDay, DateSymbols symbols,\n");
+        out.append("                      char[] out) {\n");
+        out.append("        int pos = 0;\n");
+        for (Step step : steps(pattern)) {
+            out.append("        // ").append(step.text).append('\n');
+            if (step.letter == 0) {
+                out.append("        if (pos == out.length) {\n            return -1;\n        }\n");
+                out.append("        out[pos++] = ").append(charLiteral(step.literal)).append(";\n");
+                continue;
+            }
+            String write;
+            String pad = ", " + step.count + ", symbols.zeroDigit, out, pos)";
+            switch (step.letter) {
+                case 'y':
+                    write = step.count == 2 ? "DatePattern.pad(year % 100" + pad : "DatePattern.pad(year" + pad;
+                    break;
+                case 'M':
+                    write = step.count <= 2 ? "DatePattern.pad(month" + pad
+                            : step.count == 3 ? "DatePattern.append(symbols.shortMonths[month - 1], out, pos)" : "-1";
+                    break;
+                case 'd':
+                    write = "DatePattern.pad(day" + pad;
+                    break;
+                case 'h':
+                    write = "DatePattern.pad(hourOfDay % 12 == 0 ? 12 : hourOfDay % 12" + pad;
+                    break;
+                case 'H':
+                    write = "DatePattern.pad(hourOfDay" + pad;
+                    break;
+                case 'm':
+                    write = "DatePattern.pad(secondOfDay / 60 % 60" + pad;
+                    break;
+                case 's':
+                    write = "DatePattern.pad(secondOfDay % 60" + pad;
+                    break;
+                default:
+                    write = "DatePattern.append(symbols.amPmStrings[hourOfDay / 12], out, pos)";
+                    break;
+            }
+            out.append("        if ((pos = ").append(write).append(") < 0) {\n            return -1;\n        }\n");
+        }
+        out.append("        return pos;\n    }\n}\n");
+        return out.toString();
+    }
+
+    static String dispatcher(Map<String, String> formats) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Generated by ").append(DatePatternGenerator.class.getName())
+                .append(" from DateHelper.DateFormats. Do not edit.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("import java.util.TimeZone;\n\n");
+        out.append("/**\n * Dispatches to the parser and formatter generated for each {@link DateHelper.DateFormats}"
+                + " constant.\n */\n");
+        out.append("final class GeneratedPatterns {\n\n");
+        out.append("    private GeneratedPatterns() {\n    }\n\n");
+        out.append("    static void parse(DateHelper.DateFormats format, CharSequence text, int start, int end, "
+                + "DateSymbols symbols,\n");
+        out.append("                      TimeZone zone, int centuryStartYear, DateParseResult result) {\n");
+        out.append("        switch (format) {\n");
+        for (String constant : formats.keySet()) {
+            out.append("            case ").append(constant).append(":\n");
+            out.append("                ").append(parserName(constant))
+                    .append(".parse(text, start, end, symbols, zone, centuryStartYear, result);\n");
+            out.append("                return;\n");
+        }
+        out.append("            default:\n");
+        out.append("                throw new AssertionError(format);\n");
+        out.append("        }\n    }\n\n");
+        out.append("    static int format(DateHelper.DateFormats format, int year, int month, int day, int hourOfDay, "
+                + "int secondOfDay,\n");
+        out.append("                      DateSymbols symbols, char[] out) {\n");
+        out.append("        switch (format) {\n");
+        for (String constant : formats.keySet()) {
+            out.append("            case ").append(constant).append(":\n");
+            out.append("                return ").append(formatterName(constant))
+                    .append(".format(year, month, day, hourOfDay, secondOfDay, symbols, out);\n");
+        }
+        out.append("            default:\n");
+        out.append("                throw new AssertionError(format);\n");
+        out.append("        }\n    }\n}\n");
+        return out.toString();
+    }
+
+    /**
+     * A pattern letter run, or a single literal char if {@link #letter} is 0.
+     */
+    static final class Step {
+        final char letter;
+        final int count;
+        final char literal;
+        final String text;
+
+        Step(char letter, int count, char literal, String text) {
+            this.letter = letter;
+            this.count = count;
+            this.literal = literal;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Splits a pattern the way {@code DatePattern.compile} does.
+     *
+     * @throws IllegalArgumentException
+     *         if the pattern uses a letter outside the supported grammar or quoted text
+     */
+    static List<Step> steps(String pattern) {
+        List<Step> steps = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                if ("yMdhHmsa".indexOf(c) < 0) {
+                    throw new IllegalArgumentException("Unsupported pattern letter '" + c + "' in " + pattern);
+                }
+                steps.add(new Step(c, run, '\0', pattern.substring(i, i + run)));
+                i += run;
+            } else if (c == '\'') {
+                throw new IllegalArgumentException("Quoted text is not supported: " + pattern);
+            } else {
+                steps.add(new Step('\0', 1, c, "'" + c + "'"));
+                i++;
+            }
+        }
+        return steps;
+    }
+
+    private static String variable(char letter) {
+        switch (letter) {
+            case 'd':
+                return "day";
+            case 'h':
+                return "hour";
+            case 'H':
+                return "hourOfDay";
+            case 'm':
+                return "minute";
+            default:
+                return "second";
+        }
+    }
+
+    private static String value(List<String> assigned, String variable, String otherwise) {
+        return assigned.contains(variable) ? variable : otherwise;
+    }
+
+    private static StringBuilder header(String constant, String pattern) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Generated by ").append(DatePatternGenerator.class.getName()).append(" from DateHelper.DateFormats.")
+                .append(constant).append(", \"").append(pattern).append("\". Do not edit.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        return out;
+    }
+
+    private static String charLiteral(char c) {
+        switch (c) {
+            case '\\':
+                return "'\\\\'";
+            case '\t':
+                return "'\\t'";
+            default:
+                return c < 0x20 || c >= 0x7f ? String.format("'\\u%04x'", (int) c) : "'" + c + "'";
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+    }
+
+    private static void deleteRecursively(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Cannot delete " + file);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.kxzhu.datehelper.build;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+
+/**
+ * Generates the per-format parser and formatter sources with {@link DatePatternGenerator}; rerun only when the file
+ * declaring {@code DateHelper.DateFormats} changes.
+ */
+@CacheableTask
+public abstract class GenerateDatePatterns extends DefaultTask {
+
+    /**
+     * the source file declaring {@code enum DateFormats}
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getEnumSource();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    public void generate() throws IOException {
+        DatePatternGenerator.generate(getEnumSource().get().getAsFile(), getOutputDir().get().getAsFile());
+    }
+}
@@ -0,0 +1,200 @@
+package com.kxzhu.datehelper;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * Reusable {@link CharSequence} window over bytes, one byte per char, so byte input can be handed to
+ * {@link DatePattern} without decoding it into a {@code String}.
+ * <p>
+ * Every byte is widened as ISO-8859-1, which is exact for the ASCII that dates are written in. Callers check
+ * {@link #isAscii(int, int)} first and decode anything else with {@link #toString()}, which reads the window as UTF-8.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ThreadLocal<AsciiSequence> LOCAL = new ThreadLocal<AsciiSequence>() {
+        @Override
+        protected AsciiSequence initialValue() {
+            return new AsciiSequence();
+        }
+    };
+
+    /**
+     * holds the {@link #latin1(String, int, int)} copy of a String, one per thread so the copy never allocates
+     */
+    private static final ThreadLocal<AsciiSequence> SCRATCH = new ThreadLocal<AsciiSequence>() {
+        @Override
+        protected AsciiSequence initialValue() {
+            byte[] array = new byte[SCRATCH_SIZE];
+            AsciiSequence scratch = new AsciiSequence().reset(array, 0, array.length);
+            scratch.view = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+            return scratch;
+        }
+    };
+
+    /**
+     * room for a copy of up to 24 chars read in whole 8-byte words
+     */
+    private static final int SCRATCH_SIZE = 32;
+
+    private byte[] array;
+    private ByteBuffer buffer;
+    /**
+     * little-endian view of {@link #array}, only on the scratch instance; lets {@link #word(int, int)} load whole longs
+     */
+    private ByteBuffer view;
+    private int offset;
+    private int length;
+
+    /**
+     * @return the calling thread's instance, for callers that wrap bytes for the length of one call
+     */
+    static AsciiSequence local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Copies {@code text[start, start + count)} into the calling thread's scratch bytes with one bulk copy, so
+     * {@link #word(int, int)} can read it eight chars per load instead of one {@code charAt} at a time.
+     *
+     * @param count
+     *         at most 24
+     * @return the scratch instance, whose index 0 is {@code text[start]}; valid until the thread's next call, or null
+     *         if a char does not fit in a byte
+     */
+    @SuppressWarnings("deprecation")
+    static AsciiSequence latin1(String text, int start, int count) {
+        int wide = 0;
+        for (int i = start; i < start + count; i++) {
+            wide |= text.charAt(i);
+        }
+        if (wide >= 0x100) {
+            return null;
+        }
+        AsciiSequence scratch = SCRATCH.get();
+        // the deprecated copy keeps each char's low byte, exact after the check above, and allocates nothing
+        text.getBytes(start, start + count, scratch.array, 0);
+        scratch.length = count;
+        return scratch;
+    }
+
+    AsciiSequence reset(byte[] array, int offset, int length) {
+        this.array = array;
+        this.buffer = null;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * @param offset
+     *         absolute index into {@code buffer}; its position and limit are ignored
+     */
+    AsciiSequence reset(ByteBuffer buffer, int offset, int length) {
+        this.array = null;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * @return true if no byte in {@code [start, end)} of the window is above 0x7f
+     */
+    boolean isAscii(int start, int end) {
+        if (array != null) {
+            for (int i = offset + start; i < offset + end; i++) {
+                if (array[i] < 0) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = offset + start; i < offset + end; i++) {
+                if (buffer.get(i) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return bytes {@code [index, index + count)} of the window, {@code count <= 8}, packed little-endian: byte
+     *         {@code index + k} in bits {@code 8k} to {@code 8k + 7}, higher bits zero
+     */
+    long word(int index, int count) {
+        int start = offset + index;
+        if (view != null) {
+            long word = view.getLong(start);
+            return count == 8 ? word : word & ((1L << (count << 3)) - 1);
+        }
+        if (array == null && count == 8 && buffer.limit() - start >= 8) {
+            // one 8-byte load; the buffer's byte order is the caller's, so normalize it
+            long word = buffer.getLong(start);
+            return buffer.order() == ByteOrder.LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+        }
+        long word = 0;
+        for (int k = 0; k < count; k++) {
+            long b = array != null ? array[start + k] & 0xff : buffer.get(start + k) & 0xff;
+            word |= b << (k << 3);
+        }
+        return word;
+    }
+
+    /**
+     * @return the number of UTF-8 bytes encoding {@code text[0, end)}
+     */
+    static int utf8Length(CharSequence text, int end) {
+        end = Math.min(end, text.length());
+        int bytes = 0;
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (array != null) {
+            return (char) (array[offset + index] & 0xff);
+        }
+        return (char) (buffer.get(offset + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        AsciiSequence sub = new AsciiSequence();
+        return array != null ? sub.reset(array, offset + start, end - start) : sub.reset(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        if (array != null) {
+            System.arraycopy(array, offset, bytes, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+        }
+        return new String(bytes, UTF_8);
+    }
+}
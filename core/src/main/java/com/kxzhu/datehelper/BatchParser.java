@@ -0,0 +1,147 @@
+package com.kxzhu.datehelper;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fork-join task behind {@link DateHelper#parseDates(String[], DateHelper.DateFormats, long[], long[])} and
+ * {@link DateHelper#getDifferences(String[], String[], DateHelper.DateFormats, TimeUnit, long[], long[])}.
+ * <p>
+ * The input is split in halves until a slice is small enough to parse sequentially. Slice boundaries are kept on
+ * multiples of 64 so every word of the failure bitmap is written by exactly one task, and each leaf reuses a single
+ * {@link DateParseResult}, so parsing allocates nothing per element.
+ */
+final class BatchParser extends RecursiveTask<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * below this many strings the fork-join overhead outweighs the parallelism
+     */
+    static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private final String[] array;
+    private final List<String> list;
+    /**
+     * when not null, {@link #out} receives {@code array[i] - newer[i]} in {@link #unit} instead of {@code array[i]}
+     */
+    private final String[] newer;
+    private final TimeUnit unit;
+    private final DateHelper.DateFormats format;
+    private final DateSymbols symbols;
+    private final TimeZone zone;
+    private final long[] out;
+    private final long[] failures;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    private BatchParser(String[] array, List<String> list, String[] newer, TimeUnit unit, DateHelper.DateFormats format,
+                        DateSymbols symbols, TimeZone zone, long[] out, long[] failures, int from, int to,
+                        int leafSize) {
+        this.array = array;
+        this.list = list;
+        this.newer = newer;
+        this.unit = unit;
+        this.format = format;
+        this.symbols = symbols;
+        this.zone = zone;
+        this.out = out;
+        this.failures = failures;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * Reads from {@code array} if it is not null, else from the random-access {@code list}.
+     */
+    static int parse(String[] array, List<String> list, int size, DateHelper.DateFormats format, long[] out,
+                     long[] failures) {
+        return run(array, list, null, null, size, format, out, failures);
+    }
+
+    /**
+     * Parses {@code old} and {@code newer} pairwise and writes each {@code old - newer} converted to {@code unit}.
+     */
+    static int difference(String[] old, String[] newer, DateHelper.DateFormats format, TimeUnit unit, long[] out,
+                          long[] failures) {
+        if (newer.length != old.length) {
+            throw new IllegalArgumentException("old holds " + old.length + " strings, newer holds " + newer.length);
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit == null");
+        }
+        return run(old, null, newer, unit, old.length, format, out, failures);
+    }
+
+    private static int run(String[] array, List<String> list, String[] newer, TimeUnit unit, int size,
+                           DateHelper.DateFormats format, long[] out, long[] failures) {
+        if (format == null) {
+            throw new NullPointerException("format == null");
+        }
+        if (out.length < size) {
+            throw new IllegalArgumentException("out holds " + out.length + " values, need " + size);
+        }
+        if (failures.length < (size + 63) / 64) {
+            throw new IllegalArgumentException("failures holds " + failures.length + " words, need " + (size + 63) / 64);
+        }
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        TimeZone zone = DayClock.today().zone;
+        if (size < SEQUENTIAL_THRESHOLD) {
+            return new BatchParser(array, list, newer, unit, format, symbols, zone, out, failures, 0, size, size)
+                    .parseRange();
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // a few slices per worker so uneven slices still balance out
+        int leafSize = Math.max(SEQUENTIAL_THRESHOLD, size / (pool.getParallelism() * 4));
+        return pool.invoke(new BatchParser(array, list, newer, unit, format, symbols, zone, out, failures, 0, size,
+                leafSize));
+    }
+
+    @Override
+    protected Integer compute() {
+        if (to - from <= leafSize) {
+            return parseRange();
+        }
+        int middle = (from + (to - from) / 2) & ~63;
+        BatchParser left = new BatchParser(array, list, newer, unit, format, symbols, zone, out, failures, from, middle,
+                leafSize);
+        BatchParser right = new BatchParser(array, list, newer, unit, format, symbols, zone, out, failures, middle, to,
+                leafSize);
+        left.fork();
+        int failed = right.compute();
+        return failed + left.join();
+    }
+
+    private int parseRange() {
+        DateParseResult result = new DateParseResult();
+        int failed = 0;
+        long word = 0;
+        for (int i = from; i < to; i++) {
+            String date = array != null ? array[i] : list.get(i);
+            boolean parsed = DateHelper.parseDate(date, format, symbols, zone, result);
+            if (parsed && newer != null) {
+                long oldTime = result.getTime();
+                parsed = DateHelper.parseDate(newer[i], format, symbols, zone, result);
+                out[i] = unit.convert(oldTime - result.getTime(), TimeUnit.MILLISECONDS);
+            } else {
+                out[i] = result.getTime();
+            }
+            if (!parsed) {
+                out[i] = 0;
+                word |= 1L << i;
+                failed++;
+            }
+            if ((i & 63) == 63 || i == to - 1) {
+                failures[i >>> 6] = word;
+                word = 0;
+            }
+        }
+        return failed;
+    }
+}
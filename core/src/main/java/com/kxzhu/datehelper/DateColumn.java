@@ -0,0 +1,330 @@
+package com.kxzhu.datehelper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TimeZone;
+
+/**
+ * Growable column of dates in a primitive array, rendered with a {@link DateHelper.DateFormats} only when read.
+ * <p>
+ * A {@link #ofMillis() millis} column keeps each instant as a {@code long}, 8 bytes against about 24 for a {@code Long}
+ * and several times that for a rendered {@code String}. An {@link #ofEpochDays() epoch-days} column, for date-only
+ * formats, keeps each local date as an {@code int} day count since 1970-01-01, 4 bytes. Its entries are dates, not
+ * instants: an instant added is reduced to its date in the default time zone, and read back as the start of that date
+ * in the default time zone at the time of reading, so the rendered date never changes with the zone; formats with a
+ * time of day render 12:00AM, or the first time after a transition skipping midnight.
+ * <p>
+ * {@link #sort()} and {@link #slice(int, int)} work on the primitive array directly; {@link #range(long, long)} binary
+ * searches a column known to be in ascending order. {@link #asList(DateHelper.DateFormats)} gives a read-only view that
+ * renders each entry as it is read, so only the rows actually shown ever become strings. An instance must not be shared
+ * between threads while one of them adds to it.
+ */
+public final class DateColumn {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean epochDays;
+    private long[] millis;
+    private int[] days;
+    private int size;
+    /**
+     * true while every entry is at least the one before it, so {@link #range(long, long)} can binary search
+     */
+    private boolean sorted = true;
+
+    private DateColumn(boolean epochDays, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        this.epochDays = epochDays;
+        if (epochDays) {
+            days = new int[capacity];
+        } else {
+            millis = new long[capacity];
+        }
+    }
+
+    public static DateColumn ofMillis() {
+        return new DateColumn(false, DEFAULT_CAPACITY);
+    }
+
+    public static DateColumn ofMillis(int capacity) {
+        return new DateColumn(false, capacity);
+    }
+
+    public static DateColumn ofEpochDays() {
+        return new DateColumn(true, DEFAULT_CAPACITY);
+    }
+
+    public static DateColumn ofEpochDays(int capacity) {
+        return new DateColumn(true, capacity);
+    }
+
+    /**
+     * @return true if entries are stored as local dates rather than instants
+     */
+    public boolean isEpochDays() {
+        return epochDays;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends {@code time}, in epoch millis; an epoch-days column keeps only its date in the default time zone.
+     *
+     * @throws ArithmeticException
+     *         if the date of {@code time} is too far from 1970 for an epoch-days column
+     */
+    public void add(long time) {
+        if (epochDays) {
+            addDay(toEpochDay(time, DayClock.today().zone));
+        } else {
+            addMillis(time);
+        }
+    }
+
+    /**
+     * Appends the date {@code epochDay} days after 1970-01-01; a millis column stores the start of that date in the
+     * default time zone.
+     */
+    public void addEpochDay(int epochDay) {
+        if (epochDays) {
+            addDay(epochDay);
+        } else {
+            addMillis(startOfDay(epochDay, DayClock.today().zone));
+        }
+    }
+
+    /**
+     * {@link #add(long)} for every element of {@code times}, growing the column once.
+     */
+    public void addAll(long[] times) {
+        ensureCapacity(size + times.length);
+        if (epochDays) {
+            TimeZone zone = DayClock.today().zone;
+            for (long time : times) {
+                addDay(toEpochDay(time, zone));
+            }
+        } else {
+            for (long time : times) {
+                addMillis(time);
+            }
+        }
+    }
+
+    /**
+     * @return entry {@code index} in epoch millis; the start of the date in the default time zone for an epoch-days
+     *         column
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return epochDays ? startOfDay(days[index], DayClock.today().zone) : millis[index];
+    }
+
+    /**
+     * @return the date of entry {@code index}, in days since 1970-01-01; for a millis column, its date in the default
+     *         time zone
+     */
+    public long getEpochDay(int index) {
+        checkIndex(index);
+        return epochDays ? days[index] : EpochCalendar.epochDay(EpochCalendar.toLocal(millis[index],
+                DayClock.today().zone));
+    }
+
+    /**
+     * @return entry {@code index} rendered with {@code format}, as
+     *         {@link DateHelper#getDesiredFormat(DateHelper.DateFormats, long)} would
+     */
+    public String getDesiredFormat(int index, DateHelper.DateFormats format) {
+        return DateHelper.getDesiredFormat(format, get(index));
+    }
+
+    /**
+     * Writes entry {@code index} rendered with {@code format} to {@code out} from {@code offset} without allocating.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException
+     *         if the text does not fit
+     */
+    public int getDesiredFormat(int index, DateHelper.DateFormats format, char[] out, int offset) {
+        return DateHelper.getDesiredFormat(format, get(index), out, offset);
+    }
+
+    /**
+     * @return a read-only view rendering each entry with {@code format} when it is read; it follows later changes to
+     *         the column
+     */
+    public List<String> asList(DateHelper.DateFormats format) {
+        if (format == null) {
+            throw new NullPointerException("format == null");
+        }
+        return new Rendered(format);
+    }
+
+    /**
+     * Sorts the entries into ascending order.
+     */
+    public void sort() {
+        if (epochDays) {
+            Arrays.sort(days, 0, size);
+        } else {
+            Arrays.sort(millis, 0, size);
+        }
+        sorted = true;
+    }
+
+    /**
+     * @return a new column of the same kind holding a copy of entries {@code [fromIndex, toIndex)}
+     */
+    public DateColumn slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("[" + fromIndex + ", " + toIndex + ") of " + size);
+        }
+        DateColumn slice = new DateColumn(epochDays, 0);
+        if (epochDays) {
+            slice.days = Arrays.copyOfRange(days, fromIndex, toIndex);
+        } else {
+            slice.millis = Arrays.copyOfRange(millis, fromIndex, toIndex);
+        }
+        slice.size = toIndex - fromIndex;
+        slice.sorted = sorted;
+        return slice;
+    }
+
+    /**
+     * @return a new column of the same kind holding the entries whose {@link #get(int)} is in
+     *         {@code [fromTime, toTime)}, found by binary search
+     * @throws IllegalStateException
+     *         if the entries are not in ascending order; call {@link #sort()} first
+     */
+    public DateColumn range(long fromTime, long toTime) {
+        if (!sorted) {
+            throw new IllegalStateException("Column is not sorted");
+        }
+        TimeZone zone = DayClock.today().zone;
+        int from = lowerBound(fromTime, zone);
+        return slice(from, Math.max(from, lowerBound(toTime, zone)));
+    }
+
+    /**
+     * @return the entries in epoch millis, as {@link #get(int)} returns them
+     */
+    public long[] toArray() {
+        if (!epochDays) {
+            return Arrays.copyOf(millis, size);
+        }
+        TimeZone zone = DayClock.today().zone;
+        long[] times = new long[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = startOfDay(days[i], zone);
+        }
+        return times;
+    }
+
+    /**
+     * Shrinks the backing array to the number of entries.
+     */
+    public void trimToSize() {
+        if (epochDays) {
+            days = Arrays.copyOf(days, size);
+        } else {
+            millis = Arrays.copyOf(millis, size);
+        }
+    }
+
+    private void addMillis(long time) {
+        ensureCapacity(size + 1);
+        if (size > 0 && time < millis[size - 1]) {
+            sorted = false;
+        }
+        millis[size++] = time;
+    }
+
+    private void addDay(int epochDay) {
+        ensureCapacity(size + 1);
+        if (size > 0 && epochDay < days[size - 1]) {
+            sorted = false;
+        }
+        days[size++] = epochDay;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int length = epochDays ? days.length : millis.length;
+        if (capacity <= length) {
+            return;
+        }
+        int grown = Math.max(capacity, Math.max(DEFAULT_CAPACITY, length * 2));
+        if (epochDays) {
+            days = Arrays.copyOf(days, grown);
+        } else {
+            millis = Arrays.copyOf(millis, grown);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+    }
+
+    /**
+     * @return the first index whose entry is at least {@code time}, or {@link #size()}
+     */
+    private int lowerBound(long time, TimeZone zone) {
+        int low = 0;
+        int high = size;
+        if (epochDays) {
+            // time falls on day, whose start is at or before it; only a time that is that start includes the day itself
+            long day = toEpochDay(time, zone);
+            long target = startOfDay(day, zone) >= time ? day : day + 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        } else {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (millis[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        return low;
+    }
+
+    private static int toEpochDay(long time, TimeZone zone) {
+        return Math.toIntExact(EpochCalendar.epochDay(EpochCalendar.toLocal(time, zone)));
+    }
+
+    private static long startOfDay(long epochDay, TimeZone zone) {
+        return EpochCalendar.resolve(epochDay * EpochCalendar.DAY_MILLIS, zone);
+    }
+
+    private final class Rendered extends AbstractList<String> implements RandomAccess {
+        private final DateHelper.DateFormats format;
+
+        Rendered(DateHelper.DateFormats format) {
+            this.format = format;
+        }
+
+        @Override
+        public String get(int index) {
+            return getDesiredFormat(index, format);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
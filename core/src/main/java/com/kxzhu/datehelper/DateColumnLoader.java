@@ -0,0 +1,250 @@
+package com.kxzhu.datehelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.regex.Pattern;
+
+/**
+ * Streams one date column out of a delimited text file, such as {@code DateHelperParseCombinations.tsv}.
+ * <p>
+ * The file is memory-mapped in fixed-size chunks and every field of the chosen column is parsed straight from the mapped
+ * bytes with a {@link DateHelper.DateFormats}, without building a {@code String} per row, so heap use stays constant
+ * however large the file is. The first line is the header naming the columns. Lines end in {@code \n} or {@code \r\n};
+ * empty lines are skipped. With a delimiter other than tab, double quotes group a field so it may contain the delimiter
+ * (e.g. {@code "14/04/25, 10:00AM"} in a CSV file) and are stripped before parsing; tab-separated files are read
+ * without quoting rules and only a pair of quotes wrapping the whole field is stripped.
+ */
+public final class DateColumnLoader {
+
+    /**
+     * Receives the parsed column, one call per data row in file order. Rows are numbered from 0 after the header.
+     */
+    public interface Sink {
+
+        void onDate(long row, long time);
+
+        /**
+         * @param errorCode
+         *         one of the {@link DateParseResult} {@code ERROR_} constants; a row without the column reports
+         *         {@link DateParseResult#ERROR_END_OF_INPUT}
+         */
+        void onFailure(long row, int errorCode);
+    }
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private DateColumnLoader() {
+    }
+
+    /**
+     * @return the number of data rows read
+     * @throws IllegalArgumentException
+     *         if the header has no column named {@code column}
+     * @throws IOException
+     *         if the file cannot be read or a line is longer than a chunk
+     */
+    public static long load(File file, char delimiter, String column, DateHelper.DateFormats format, Sink sink)
+            throws IOException {
+        return load(file, delimiter, column, format, sink, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Collects the column into an array, with 0 for rows that fail to parse.
+     */
+    public static long[] load(File file, char delimiter, String column, DateHelper.DateFormats format)
+            throws IOException {
+        Collector collector = new Collector();
+        long rows = load(file, delimiter, column, format, collector);
+        return Arrays.copyOf(collector.times, (int) rows);
+    }
+
+    static long load(File file, char delimiter, String column, DateHelper.DateFormats format, Sink sink, int chunkSize)
+            throws IOException {
+        if (format == null) {
+            throw new NullPointerException("format == null");
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size == 0) {
+                throw new IllegalArgumentException("No column named " + column + " in empty file " + file);
+            }
+            Reader reader = new Reader(delimiter, format, sink);
+            long position = reader.readHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(chunkSize, size)),
+                    size <= chunkSize, column, file);
+            while (position < size) {
+                int length = (int) Math.min(chunkSize, size - position);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = reader.readLines(chunk, length, position + length == size);
+                if (consumed == 0) {
+                    throw new IOException("Line at byte " + position + " is longer than " + chunkSize + " bytes");
+                }
+                position += consumed;
+            }
+            return reader.row;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Parsing state carried across chunks; everything it needs is allocated once per load.
+     */
+    private static final class Reader {
+        private final byte delimiter;
+        private final boolean quoting;
+        private final DateHelper.DateFormats format;
+        private final Sink sink;
+        private final DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        private final TimeZone zone = DayClock.today().zone;
+        private final DateParseResult result = new DateParseResult();
+        private final AsciiSequence field = new AsciiSequence();
+        private int target;
+        private long row;
+
+        Reader(char delimiter, DateHelper.DateFormats format, Sink sink) {
+            if (delimiter > 0x7f) {
+                throw new IllegalArgumentException("Delimiter must be ASCII: " + delimiter);
+            }
+            this.delimiter = (byte) delimiter;
+            this.quoting = delimiter != '\t';
+            this.format = format;
+            this.sink = sink;
+        }
+
+        /**
+         * @return the byte offset of the first data line
+         */
+        long readHeader(MappedByteBuffer chunk, boolean last, String column, File file) throws IOException {
+            int end = 0;
+            while (end < chunk.limit() && chunk.get(end) != '\n') {
+                end++;
+            }
+            if (end == chunk.limit() && !last) {
+                throw new IOException("Header line of " + file + " is longer than a chunk");
+            }
+            byte[] bytes = new byte[end];
+            chunk.get(bytes);
+            String header = new String(bytes, "UTF-8");
+            if (header.endsWith("\r")) {
+                header = header.substring(0, header.length() - 1);
+            }
+            String[] names = header.split(Pattern.quote(String.valueOf((char) delimiter)), -1);
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i].trim();
+                if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                    name = name.substring(1, name.length() - 1);
+                }
+                if (name.equals(column)) {
+                    target = i;
+                    return Math.min(end + 1, chunk.limit());
+                }
+            }
+            throw new IllegalArgumentException("No column named " + column + " in " + file);
+        }
+
+        /**
+         * Reads every complete line of {@code chunk}, plus the unterminated last line if {@code last}.
+         *
+         * @return the number of bytes consumed, which ends on a line boundary
+         */
+        int readLines(MappedByteBuffer chunk, int length, boolean last) {
+            int lineStart = 0;
+            int fieldIndex = 0;
+            int fieldStart = target == 0 ? 0 : -1;
+            int fieldEnd = -1;
+            boolean inQuotes = false;
+            for (int i = 0; i < length; i++) {
+                byte b = chunk.get(i);
+                if (b == '\n') {
+                    if (fieldIndex == target && fieldEnd < 0) {
+                        fieldEnd = i;
+                    }
+                    emit(chunk, lineStart, i, fieldStart, fieldEnd);
+                    lineStart = i + 1;
+                    fieldIndex = 0;
+                    fieldStart = target == 0 ? lineStart : -1;
+                    fieldEnd = -1;
+                    inQuotes = false;
+                } else if (quoting && b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == delimiter && !inQuotes) {
+                    if (fieldIndex == target) {
+                        fieldEnd = i;
+                    }
+                    fieldIndex++;
+                    if (fieldIndex == target) {
+                        fieldStart = i + 1;
+                    }
+                }
+            }
+            if (last && lineStart < length) {
+                if (fieldIndex == target && fieldEnd < 0) {
+                    fieldEnd = length;
+                }
+                emit(chunk, lineStart, length, fieldStart, fieldEnd);
+                return length;
+            }
+            return lineStart;
+        }
+
+        private void emit(MappedByteBuffer chunk, int lineStart, int lineEnd, int fieldStart, int fieldEnd) {
+            if (lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r') {
+                if (fieldEnd == lineEnd) {
+                    fieldEnd--;
+                }
+                lineEnd--;
+            }
+            if (lineEnd == lineStart) {
+                return;
+            }
+            if (fieldStart < 0) {
+                // the line has fewer fields than the header
+                fieldStart = lineEnd;
+                fieldEnd = lineEnd;
+            }
+            if (fieldEnd - fieldStart >= 2 && chunk.get(fieldStart) == '"' && chunk.get(fieldEnd - 1) == '"') {
+                fieldStart++;
+                fieldEnd--;
+            }
+            field.reset(chunk, fieldStart, fieldEnd - fieldStart);
+            if (DateHelper.parseUtf8(field, 0, field.length(), format, symbols, zone, result)) {
+                sink.onDate(row, result.getTime());
+            } else {
+                sink.onFailure(row, result.getErrorCode());
+            }
+            row++;
+        }
+    }
+
+    private static final class Collector implements Sink {
+        long[] times = new long[1024];
+
+        @Override
+        public void onDate(long row, long time) {
+            ensureCapacity(row);
+            times[(int) row] = time;
+        }
+
+        @Override
+        public void onFailure(long row, int errorCode) {
+            ensureCapacity(row);
+        }
+
+        private void ensureCapacity(long row) {
+            if (row >= Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many rows for an array, use a Sink instead");
+            }
+            if (row >= times.length) {
+                times = Arrays.copyOf(times, (int) Math.min(Integer.MAX_VALUE - 8, times.length * 2L));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.kxzhu.datehelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Difference between two dates, filled in by
+ * {@link DateHelper#getDifference(String, String, DateHelper.DateFormats, DateDifference)}.
+ * <p>
+ * Like {@link DateParseResult}, the caller keeps one instance and passes it to every call, which overwrites it; it holds
+ * only primitives. Each getter returns the whole difference in its unit, truncated toward zero, so {@link #getDays()},
+ * {@link #getHours()} and {@link #getMinutes()} equal what {@code getDaysBetweenTwoDate},
+ * {@code getHoursBetweenTwoDate} and {@code getMinutesBetweenTwoDates} return for the same pair. An instance must not be
+ * shared between threads.
+ */
+public final class DateDifference {
+
+    private boolean valid;
+    private long millis;
+
+    public DateDifference() {
+    }
+
+    /**
+     * @return false if either date failed to parse, in which case every getter returns 0
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public long getSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(millis);
+    }
+
+    public long getMinutes() {
+        return TimeUnit.MILLISECONDS.toMinutes(millis);
+    }
+
+    public long getHours() {
+        return TimeUnit.MILLISECONDS.toHours(millis);
+    }
+
+    public long getDays() {
+        return TimeUnit.MILLISECONDS.toDays(millis);
+    }
+
+    void set(long millis) {
+        this.valid = true;
+        this.millis = millis;
+    }
+
+    void invalidate() {
+        this.valid = false;
+        this.millis = 0;
+    }
+
+    @Override
+    public String toString() {
+        return valid ? "DateDifference{millis=" + millis + "}" : "DateDifference{invalid}";
+    }
+}
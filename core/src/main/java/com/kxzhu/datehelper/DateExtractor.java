@@ -0,0 +1,418 @@
+package com.kxzhu.datehelper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Finds every date written in one of the {@link DateHelper.DateFormats} inside free text, such as a log, in a single
+ * streaming pass.
+ * <p>
+ * All patterns are merged into one automaton, a trie of their shapes: a field such as {@code dd} or {@code yyyy} is as
+ * many digits as it has letters, {@code MMM} and {@code a} are the locale's month and AM/PM names, and every other
+ * character is itself. The trie is walked from each position where a run of digits starts; the longest path ending
+ * where no digit follows is the match, ties going to the constant declared first, as with
+ * {@link DateHelper#parseAnyDate(String)}. Matched text is then parsed with its format, so the reported time is exactly
+ * what {@link DateHelper#parseDate(String, DateHelper.DateFormats)} returns for it. Matches never overlap; scanning
+ * resumes after each one.
+ * <p>
+ * Input is read through a buffer of a few thousand chars, which always holds at least one longest possible match past
+ * the scan position, so a date split across reads is found like any other. Reader offsets are in chars; channel input
+ * is decoded as UTF-8 and its offsets are in bytes.
+ */
+public final class DateExtractor {
+
+    /**
+     * Receives each date found, in input order.
+     */
+    public interface Sink {
+
+        /**
+         * @param offset
+         *         index of the date's first char, or byte for channel input, from the start of the stream
+         * @param length
+         *         length of the date in the same unit
+         * @param time
+         *         the date in epoch millis
+         */
+        void onDate(long offset, int length, DateHelper.DateFormats format, long time);
+    }
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final Node ROOT = new Node();
+
+    static {
+        for (DateHelper.DateFormats format : DateHelper.DateFormats.values()) {
+            String pattern = format.getDateFormat();
+            Node node = ROOT;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                int run = 1;
+                while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                    run++;
+                }
+                if (c == 'M' && run >= 3) {
+                    node = node.monthChild();
+                } else if (c == 'a') {
+                    node = node.amPmChild();
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    for (int k = 0; k < run; k++) {
+                        node = node.digitChild();
+                    }
+                } else {
+                    for (int k = 0; k < run; k++) {
+                        node = node.literalChild(c);
+                    }
+                }
+                i += run;
+            }
+            node.addFormat(format);
+        }
+    }
+
+    private final Reader reader;
+    private final ReadableByteChannel channel;
+    private final Sink sink;
+    private final DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+    private final TimeZone zone = DayClock.today().zone;
+    private final DateParseResult result = new DateParseResult();
+    /**
+     * the longest text a pattern can match in this locale
+     */
+    private final int maxMatch;
+    /**
+     * pattern ends passed during one walk of the trie, shortest first
+     */
+    private final Node[] ends;
+    private final int[] endPositions;
+
+    private final char[] chars;
+    private final CharSequence text;
+    /**
+     * stream offset of each buffered char, plus one entry past the last
+     */
+    private final long[] offsets;
+    private int limit;
+    private boolean eof;
+
+    /**
+     * undecoded bytes carried between channel reads; null for a Reader
+     */
+    private final ByteBuffer bytes;
+    private boolean channelEof;
+
+    private DateExtractor(Reader reader, ReadableByteChannel channel, Sink sink, int bufferSize) {
+        this.reader = reader;
+        this.channel = channel;
+        this.sink = sink;
+        int longestMonth = longest(symbols.monthNames);
+        int longestAmPm = longest(symbols.amPmNames);
+        int max = 0;
+        for (DateHelper.DateFormats format : DateHelper.DateFormats.values()) {
+            max = Math.max(max, maxLength(format.getDateFormat(), longestMonth, longestAmPm));
+        }
+        maxMatch = max;
+        ends = new Node[maxMatch + 1];
+        endPositions = new int[maxMatch + 1];
+        int size = Math.max(bufferSize, 2 * (maxMatch + 2));
+        chars = new char[size];
+        text = CharBuffer.wrap(chars);
+        offsets = new long[size + 1];
+        bytes = channel != null ? ByteBuffer.allocate(size) : null;
+    }
+
+    /**
+     * Reads {@code reader} to the end without closing it.
+     *
+     * @return the number of dates found
+     */
+    public static long extract(Reader reader, Sink sink) throws IOException {
+        return extract(reader, sink, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads {@code channel}, which must be blocking, to the end without closing it. Malformed UTF-8 is skipped a byte at
+     * a time.
+     *
+     * @return the number of dates found
+     */
+    public static long extract(ReadableByteChannel channel, Sink sink) throws IOException {
+        return extract(channel, sink, DEFAULT_BUFFER_SIZE);
+    }
+
+    static long extract(Reader reader, Sink sink, int bufferSize) throws IOException {
+        if (reader == null) {
+            throw new NullPointerException("reader == null");
+        }
+        return new DateExtractor(reader, null, sink, bufferSize).run();
+    }
+
+    static long extract(ReadableByteChannel channel, Sink sink, int bufferSize) throws IOException {
+        if (channel == null) {
+            throw new NullPointerException("channel == null");
+        }
+        return new DateExtractor(null, channel, sink, bufferSize).run();
+    }
+
+    private long run() throws IOException {
+        long found = 0;
+        int pos = 0;
+        boolean afterDigit = false;
+        while (true) {
+            // one char past the longest match decides whether a digit follows it
+            if (!eof && limit - pos <= maxMatch + 1) {
+                pos = compact(pos);
+                fill();
+                continue;
+            }
+            if (pos >= limit) {
+                return found;
+            }
+            char c = chars[pos];
+            boolean digit = c >= '0' && c <= '9';
+            if (digit && !afterDigit) {
+                int end = match(pos);
+                if (end > pos) {
+                    found++;
+                    // the char after a match is never a digit
+                    pos = end;
+                    afterDigit = false;
+                    continue;
+                }
+            }
+            afterDigit = digit;
+            pos++;
+        }
+    }
+
+    /**
+     * Walks the trie from {@code start} and reports the longest match that parses.
+     *
+     * @return the end of the reported match, or {@code start} if there is none
+     */
+    private int match(int start) {
+        Node node = ROOT;
+        int pos = start;
+        int count = 0;
+        while (true) {
+            if (node.formats != null && (pos == limit || chars[pos] < '0' || chars[pos] > '9')) {
+                ends[count] = node;
+                endPositions[count++] = pos;
+            }
+            if (pos == limit) {
+                break;
+            }
+            char c = chars[pos];
+            Node next;
+            int nextPos = pos + 1;
+            if (c >= '0' && c <= '9') {
+                next = node.digit;
+            } else {
+                next = node.literal(c);
+                if (next == null && node.month != null) {
+                    int name = symbols.monthTrie.match(text, pos, limit);
+                    if (name >= 0) {
+                        next = node.month;
+                        nextPos = pos + symbols.monthNames[name].length();
+                    }
+                }
+                if (next == null && node.amPm != null) {
+                    int name = symbols.amPmTrie.match(text, pos, limit);
+                    if (name >= 0) {
+                        next = node.amPm;
+                        nextPos = pos + symbols.amPmNames[name].length();
+                    }
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            node = next;
+            pos = nextPos;
+        }
+
+        for (int i = count - 1; i >= 0; i--) {
+            int end = endPositions[i];
+            for (DateHelper.DateFormats format : ends[i].formats) {
+                if (DateHelper.parseDate(text, start, end, format, symbols, zone, result) && result.index == end) {
+                    sink.onDate(offsets[start], (int) (offsets[end] - offsets[start]), format, result.time);
+                    return end;
+                }
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Moves {@code chars[from, limit)} to the front of the buffer.
+     *
+     * @return the new index of {@code from}
+     */
+    private int compact(int from) {
+        if (from > 0) {
+            System.arraycopy(chars, from, chars, 0, limit - from);
+            System.arraycopy(offsets, from, offsets, 0, limit - from + 1);
+            limit -= from;
+        }
+        return 0;
+    }
+
+    private void fill() throws IOException {
+        if (reader != null) {
+            int read = reader.read(chars, limit, chars.length - limit);
+            if (read < 0) {
+                eof = true;
+                return;
+            }
+            for (int i = 1; i <= read; i++) {
+                offsets[limit + i] = offsets[limit] + i;
+            }
+            limit += read;
+            return;
+        }
+        if (!channelEof && channel.read(bytes) < 0) {
+            channelEof = true;
+        }
+        bytes.flip();
+        decode();
+        bytes.compact();
+        if (channelEof && bytes.position() == 0) {
+            eof = true;
+        }
+    }
+
+    /**
+     * Decodes as much of {@code bytes} as fits, keeping an incomplete sequence at the end for the next read unless the
+     * channel has ended. Each char's offset is recorded from the bytes it took, so a replaced malformed byte still
+     * counts as one.
+     */
+    private void decode() {
+        while (bytes.hasRemaining() && limit < chars.length - 1) {
+            int position = bytes.position();
+            int b = bytes.get(position) & 0xff;
+            int length = b < 0x80 ? 1 : b >= 0xc2 && b < 0xe0 ? 2 : b >= 0xe0 && b < 0xf0 ? 3 : b >= 0xf0 && b < 0xf5
+                    ? 4 : 0;
+            if (length > bytes.remaining()) {
+                if (!channelEof) {
+                    return;
+                }
+                length = 0;
+            }
+            int code = length == 1 ? b : length == 2 ? b & 0x1f : length == 3 ? b & 0x0f : b & 0x07;
+            for (int k = 1; k < length; k++) {
+                int next = bytes.get(position + k) & 0xff;
+                if ((next & 0xc0) != 0x80) {
+                    length = 0;
+                    break;
+                }
+                code = code << 6 | (next & 0x3f);
+            }
+            long offset = offsets[limit];
+            if (length == 0) {
+                bytes.position(position + 1);
+                chars[limit] = '\ufffd';
+                offsets[++limit] = offset + 1;
+            } else if (code >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                bytes.position(position + length);
+                chars[limit] = Character.highSurrogate(code);
+                offsets[++limit] = offset + length;
+                chars[limit] = Character.lowSurrogate(code);
+                offsets[++limit] = offset + length;
+            } else {
+                bytes.position(position + length);
+                chars[limit] = (char) code;
+                offsets[++limit] = offset + length;
+            }
+        }
+    }
+
+    private static int maxLength(String pattern, int longestMonth, int longestAmPm) {
+        int length = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            length += c == 'M' && run >= 3 ? longestMonth : c == 'a' ? longestAmPm : run;
+            i += run;
+        }
+        return length;
+    }
+
+    private static int longest(String[] names) {
+        int longest = 0;
+        for (String name : names) {
+            longest = Math.max(longest, name.length());
+        }
+        return longest;
+    }
+
+    /**
+     * A state of the merged pattern trie; {@link #formats} is non-null where a pattern ends.
+     */
+    private static final class Node {
+        Node digit;
+        Node month;
+        Node amPm;
+        char[] literals = new char[0];
+        Node[] literalNodes = new Node[0];
+        DateHelper.DateFormats[] formats;
+
+        Node literal(char c) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i] == c) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+
+        Node literalChild(char c) {
+            Node node = literal(c);
+            if (node == null) {
+                node = new Node();
+                literals = Arrays.copyOf(literals, literals.length + 1);
+                literalNodes = Arrays.copyOf(literalNodes, literalNodes.length + 1);
+                literals[literals.length - 1] = c;
+                literalNodes[literalNodes.length - 1] = node;
+            }
+            return node;
+        }
+
+        Node digitChild() {
+            if (digit == null) {
+                digit = new Node();
+            }
+            return digit;
+        }
+
+        Node monthChild() {
+            if (month == null) {
+                month = new Node();
+            }
+            return month;
+        }
+
+        Node amPmChild() {
+            if (amPm == null) {
+                amPm = new Node();
+            }
+            return amPm;
+        }
+
+        void addFormat(DateHelper.DateFormats format) {
+            formats = formats == null ? new DateHelper.DateFormats[]{format}
+                    : Arrays.copyOf(formats, formats.length + 1);
+            formats[formats.length - 1] = format;
+        }
+    }
+}
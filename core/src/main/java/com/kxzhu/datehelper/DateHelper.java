@@ -0,0 +1,856 @@
+package com.kxzhu.datehelper;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by kosh20111 on 10/7/2015.
+ * <p>
+ * Helper Class to deal with time and dates
+ * <p>
+ * Plain Java with no Android dependencies, so it also runs on a server JVM; the app's picker dialogs are in
+ * {@code com.kxzhu.datehelper.picker.DatePickers}.
+ */
+public class DateHelper {
+
+    public enum DateFormats {
+        D_YYMMDD("yy-MM-dd"), D_DDMMyy("dd-MM-yy"),
+        D_YYMMDD_N("yy-MMM-dd"), D_DDMMyy_N("dd-MMM-yy"),
+        D_YYMMDDHHMMA_N("yy-MMM-dd, hh:mma"), D_DDMMyyHHMMA_N("dd-MMM-yy, hh:mma"),
+        S_YYMMDD("yy/MM/dd"), S_DDMMyy("dd/MM/yy"),
+        S_YYMMDDHHMMA("yy/MM/dd, hh:mma"), S_DDMMyyHHMMA("dd/MM/yy, hh:mma"),
+        S_YYMMDDHHMMA_N("yy/MMM/dd, hh:mma"), S_DDMMyyHHMMA_N("dd/MMM/yy, hh:mma"),
+        D_YYYYMMDD("yyyy-MM-dd"), D_DDMMYYYY("dd-MM-yyyy"),
+        D_YYYYMMDDHHMMA("yyyy-MM-dd, hh:mma"), D_DDMMYYYYHHMMA("dd-MM-yyyy, hh:mma"),
+        D_YYYYMMDD_N("yyyy-MMM-dd"), D_DDMMYYYY_N("dd-MMM-yyyy"),
+        D_YYYYMMDDHHMMA_N("yyyy-MMM-dd, hh:mma"), D_DDMMYYYYHHMMA_N("dd-MMM-yyyy, hh:mma"),
+        S_YYYYMMDD("yyyy/MM/dd"), S_DDMMYYYY("dd/MM/yyyy"),
+        S_YYYYMMDDHHMMA("yyyy/MM/dd, hh:mma"), S_DDMMYYYYHHMMA("dd/MM/yyyy, hh:mma"),
+        S_YYYYMMDDHHMMA_N("yyyy/MMM/dd, hh:mma"), S_DDMMYYYYHHMMA_N("dd/MMM/yyyy, hh:mma"),
+        D_YYMMDDHHMMSSA_N("yy-MMM-dd, hh:mm:ssa"), D_DDMMyyHHMMSSA_N("dd-MMM-yy, hh:mm:ssa"),
+        S_YYMMDDHHMMSSA("yy/MM/dd, hh:mm:ssa"), S_DDMMyyHHMMSSA("dd/MM/yy, hh:mm:ssa"),
+        S_YYMMDDHHMMSSA_N("yy/MMM/dd, hh:mm:ssa"), S_DDMMyyHHMMSSA_N("dd/MMM/yy, hh:mm:ssa"),
+        D_YYYYMMDDHHMMSSA("yyyy-MM-dd, hh:mm:ssa"), D_DDMMYYYYHHMMSSA("dd-MM-yyyy, hh:mm:ssa"),
+        D_YYYYMMDDHHMMSSA_N("yyyy-MMM-dd, hh:mm:ssa"), D_DDMMYYYYHHMMSSA_N("dd-MMM-yyyy, hh:mm:ssa"),
+        S_YYYYMMDDHHMMSSA("yyyy/MM/dd, hh:mm:ssa"), S_DDMMYYYYHHMMSSA("dd/MM/yyyy, hh:mm:ssa"),
+        S_YYYYMMDDHHMMSSA_N("yyyy/MMM/dd, hh:mm:ssa"), S_DDMMYYYYHHMMSSA_N("dd/MMM/yyyy, hh:mm:ssa"),
+        HHMMA("hh:mma"), HHMM("hh:mm"), HHMMSSA("hh:mm:ssa"), HHMMSS("hh:mm:ss");
+        private String dateFormat;
+
+        DateFormats(String dateFormat) {this.dateFormat = dateFormat;}
+
+        public String getDateFormat() {
+            return dateFormat;
+        }
+    }
+
+    /**
+     * Engines DateHelper formats and parses with, chosen once at startup with {@link #setBackend(Backend)}.
+     */
+    public enum Backend {
+        /**
+         * SimpleDateFormat's lenient behaviour, served by a built-in allocation-free engine where it can be; the default
+         */
+        SIMPLE_DATE_FORMAT,
+        /**
+         * immutable java.time DateTimeFormatters built once per {@link DateFormats} constant and shared by all threads.
+         * Results match {@link #SIMPLE_DATE_FORMAT}'s, dates before 1600 and two-digit years included, except that
+         * blanks before a field and signed numbers are rejected, and that names come from java.time's locale data,
+         * which can differ from {@link java.util.Calendar}'s on some locales. Every call allocates, the overloads that
+         * write into a caller's buffer included
+         */
+        JAVA_TIME
+    }
+
+    /**
+     * Receives the renderings of {@link #prettifyDates(long[], PrettifySink)}, one call per timestamp in input order.
+     */
+    public interface PrettifySink {
+
+        /**
+         * @param text
+         *         holds the rendering in {@code [0, length)}; only valid during the call and must not be modified
+         */
+        void onDate(int index, char[] text, int length);
+    }
+
+    private static final String TIME_PATTERN = "hh:mm a";
+    private static final String DAY_AND_TIME_PATTERN = "dd MMM hh:mm a";
+    private static final String DATE_PATTERN = "dd/MM/yyyy";
+    private static final String DATE_AND_TIME_PATTERN = "dd/MM/yyyy, hh:mm a";
+    private static final String DATE_AND_TIME_24_PATTERN = "dd/MM/yyyy HH:mm:ss";
+
+    private static final DatePattern TIME = DatePattern.compile(TIME_PATTERN);
+    private static final DatePattern DAY_AND_TIME = DatePattern.compile(DAY_AND_TIME_PATTERN);
+    private static final DatePattern DATE = DatePattern.compile(DATE_PATTERN);
+    private static final DatePattern DATE_AND_TIME = DatePattern.compile(DATE_AND_TIME_PATTERN);
+    private static final DatePattern DATE_AND_TIME_24 = DatePattern.compile(DATE_AND_TIME_24_PATTERN);
+
+    private static final long MINUTE_MILLIS = 60 * 1000;
+
+    private static volatile FormatBackend backend = new SimpleDateFormatBackend();
+
+    /**
+     * Switches every formatting and parsing method to {@code backend}. Meant to be called once at startup, e.g. from
+     * {@code Application.onCreate()}, so throughput and allocation of the backends can be compared in production.
+     */
+    public static void setBackend(Backend backend) {
+        DateHelper.backend = backend == Backend.JAVA_TIME ? new JavaTimeFormatBackend() : new SimpleDateFormatBackend();
+    }
+
+    public static Backend getBackend() {
+        return backend instanceof JavaTimeFormatBackend ? Backend.JAVA_TIME : Backend.SIMPLE_DATE_FORMAT;
+    }
+
+    /**
+     * Makes the next call use the current default time zone. The default zone is otherwise checked at most once a
+     * second, so that reading it does not cost an allocation per call; call this right after
+     * {@link TimeZone#setDefault(TimeZone)}, or on Android from an {@code ACTION_TIMEZONE_CHANGED} receiver.
+     */
+    public static void onTimeZoneChanged() {
+        DayClock.reset();
+    }
+
+    /**
+     * @return hh:mm a || dd MMM hh:mm a
+     */
+    public static String prettifyDate(long timestamp) {
+        long start = DateHelperMetrics.start();
+        boolean today = DayClock.isToday(timestamp);
+        String text = PrettifyCache.get(timestamp, today);
+        if (text == null) {
+            text = render(today ? TIME : DAY_AND_TIME, timestamp);
+            PrettifyCache.put(timestamp, today, text);
+        }
+        DateHelperMetrics.record(DateHelperMetrics.Method.PRETTIFY_DATE, null, start, true);
+        return text;
+    }
+
+    /**
+     * @return hh:mm a || dd MMM hh:mm a
+     */
+    public static String prettifyDate(String timestamp) {
+        return prettifyDate(Long.parseLong(timestamp));
+    }
+
+    /**
+     * Batch form of {@link #prettifyDate(long)} for feeds: renders every timestamp, in order, with the day bounds read
+     * once for the whole batch.
+     * <p>
+     * Consecutive timestamps in the same local minute and on the same side of today share one rendering, so sorted
+     * input, the usual case, renders each minute once; other minutes go through the same {@link PrettifyCache} as
+     * prettifyDate. A batch that runs across midnight uses the day it started on throughout.
+     *
+     * @return one string per timestamp; equal minutes share the same instance
+     */
+    public static String[] prettifyDates(long[] timestamps) {
+        String[] out = new String[timestamps.length];
+        DayClock.Day day = DayClock.today();
+        Locale locale = Locale.getDefault();
+        String text = null;
+        long lastMinute = 0;
+        boolean lastToday = false;
+        for (int i = 0; i < timestamps.length; i++) {
+            long timestamp = timestamps[i];
+            boolean today = timestamp >= day.start && timestamp < day.end;
+            long minute = Math.floorDiv(EpochCalendar.toLocal(timestamp, day.zone), MINUTE_MILLIS);
+            if (text == null || minute != lastMinute || today != lastToday) {
+                text = PrettifyCache.get(timestamp, today);
+                if (text == null) {
+                    text = render(today ? TIME : DAY_AND_TIME, timestamp, locale, day.zone);
+                    PrettifyCache.put(timestamp, today, text);
+                }
+                lastMinute = minute;
+                lastToday = today;
+            }
+            out[i] = text;
+        }
+        return out;
+    }
+
+    /**
+     * {@link #prettifyDates(long[])} without building strings: each rendering is handed to {@code sink} as chars, and a
+     * minute equal to the previous timestamp's is passed on again without rendering it. Nothing is allocated per
+     * timestamp and {@link PrettifyCache} is not used.
+     */
+    public static void prettifyDates(long[] timestamps, PrettifySink sink) {
+        DayClock.Day day = DayClock.today();
+        Locale locale = Locale.getDefault();
+        char[] text = new char[32];
+        int length = -1;
+        long lastMinute = 0;
+        boolean lastToday = false;
+        for (int i = 0; i < timestamps.length; i++) {
+            long timestamp = timestamps[i];
+            boolean today = timestamp >= day.start && timestamp < day.end;
+            long minute = Math.floorDiv(EpochCalendar.toLocal(timestamp, day.zone), MINUTE_MILLIS);
+            if (length < 0 || minute != lastMinute || today != lastToday) {
+                // the sink may call back into DateHelper, so the rendering is kept apart from the thread's buffer
+                length = backend.format(today ? TIME : DAY_AND_TIME, timestamp, locale, day.zone);
+                if (length > text.length) {
+                    text = new char[length];
+                }
+                System.arraycopy(FormatterCache.chars(), 0, text, 0, length);
+                lastMinute = minute;
+                lastToday = today;
+            }
+            sink.onDate(i, text, length);
+        }
+    }
+
+    /**
+     * @return dd/MM/yyyy
+     */
+    public static long getDateOnly(String date) {
+        // the unrecorded path, as the fixed-pattern helpers are not counted by DateHelperMetrics
+        DateParseResult result = DateParseResult.local();
+        parseDate(date, DateFormats.S_DDMMYYYY, DateSymbols.of(Locale.getDefault()), DayClock.today().zone, result);
+        return result.getTime();
+    }
+
+    /**
+     * @return dd/MM/yyyy
+     */
+    public static String getDateOnly(long time) {
+        return render(DATE, time);
+    }
+
+    /**
+     * Appends dd/MM/yyyy to {@code out} without allocating.
+     *
+     * @return the number of chars written
+     */
+    public static int getDateOnly(long time, StringBuilder out) {
+        return write(DATE, time, out);
+    }
+
+    /**
+     * Writes dd/MM/yyyy to {@code out} from {@code offset} without allocating.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException
+     *         if the text does not fit
+     */
+    public static int getDateOnly(long time, char[] out, int offset) {
+        return write(DATE, time, out, offset);
+    }
+
+    /**
+     * Puts dd/MM/yyyy into {@code out} as UTF-8 at its position without allocating.
+     *
+     * @return the number of bytes written, the same as the number of chars for ASCII text
+     * @throws BufferOverflowException
+     *         if the text does not fit; nothing is written then
+     */
+    public static int getDateOnly(long time, ByteBuffer out) {
+        return write(DATE, time, out);
+    }
+
+    /**
+     * @return dd/MM/yyyy, hh:mm a
+     */
+    public static String getDateAndTime(long time) {
+        return render(DATE_AND_TIME, time);
+    }
+
+    /**
+     * Appends dd/MM/yyyy, hh:mm a to {@code out} without allocating.
+     *
+     * @return the number of chars written
+     */
+    public static int getDateAndTime(long time, StringBuilder out) {
+        return write(DATE_AND_TIME, time, out);
+    }
+
+    /**
+     * Writes dd/MM/yyyy, hh:mm a to {@code out} from {@code offset} without allocating.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException
+     *         if the text does not fit
+     */
+    public static int getDateAndTime(long time, char[] out, int offset) {
+        return write(DATE_AND_TIME, time, out, offset);
+    }
+
+    /**
+     * Puts dd/MM/yyyy, hh:mm a into {@code out} as UTF-8 at its position without allocating.
+     *
+     * @return the number of bytes written, the same as the number of chars for ASCII text
+     * @throws BufferOverflowException
+     *         if the text does not fit; nothing is written then
+     */
+    public static int getDateAndTime(long time, ByteBuffer out) {
+        return write(DATE_AND_TIME, time, out);
+    }
+
+    /**
+     * @return dd/MM/yyyy, hh:mm a
+     */
+    public static String getDateAndTime(String time) {
+        SimpleDateFormat sample = FormatterCache.get(DATE_AND_TIME_PATTERN, Locale.getDefault());
+        return sample.format(time);
+    }
+
+    /**
+     * @return hh:mm a
+     */
+    public static String getTimeOnly(long time) {
+        return render(TIME, time);
+    }
+
+    /**
+     * Appends hh:mm a to {@code out} without allocating.
+     *
+     * @return the number of chars written
+     */
+    public static int getTimeOnly(long time, StringBuilder out) {
+        return write(TIME, time, out);
+    }
+
+    /**
+     * Writes hh:mm a to {@code out} from {@code offset} without allocating.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException
+     *         if the text does not fit
+     */
+    public static int getTimeOnly(long time, char[] out, int offset) {
+        return write(TIME, time, out, offset);
+    }
+
+    /**
+     * Puts hh:mm a into {@code out} as UTF-8 at its position without allocating.
+     *
+     * @return the number of bytes written, the same as the number of chars for ASCII text
+     * @throws BufferOverflowException
+     *         if the text does not fit; nothing is written then
+     */
+    public static int getTimeOnly(long time, ByteBuffer out) {
+        return write(TIME, time, out);
+    }
+
+    /**
+     * @return today's date in format (dd/MM/yyyy HH:mm:ss)
+     */
+    public static String getTodayWithTime() {
+        return render(DATE_AND_TIME_24, System.currentTimeMillis());
+    }
+
+    /**
+     * @return today's date in format (dd/MM/yyyy)
+     */
+    public static String getToday() {
+        return render(DATE, DayClock.noon(0));
+    }
+
+    /**
+     * @return tomorrows's date in format (dd/MM/yyyy)
+     */
+    public static String getTomorrow() {
+        return render(DATE, DayClock.noon(1));
+    }
+
+    /**
+     * @return the current date and time in the default time zone as {year, month (1-12), day, hourOfDay, minute,
+     *         second}
+     */
+    public static int[] getLocalNow() {
+        long local = EpochCalendar.toLocal(System.currentTimeMillis(), DayClock.today().zone);
+        long civil = EpochCalendar.civilFromDays(EpochCalendar.epochDay(local));
+        int secondOfDay = EpochCalendar.millisOfDay(local) / 1000;
+        return new int[]{EpochCalendar.year(civil), EpochCalendar.month(civil), EpochCalendar.day(civil),
+                secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60};
+    }
+
+    /**
+     * @param month
+     *         1-12; out-of-range fields roll over, and wall times in a DST gap or overlap resolve, as with a lenient
+     *         Calendar
+     * @return epoch millis of the date and time in the default time zone
+     */
+    public static long getLocalTime(int year, int month, int day, int hourOfDay, int minute, int second) {
+        long local = EpochCalendar.toLocal(year + Math.floorDiv(month - 1, 12), Math.floorMod(month - 1, 12) + 1, day,
+                hourOfDay, minute, second);
+        return EpochCalendar.resolve(local, DayClock.today().zone);
+    }
+
+    /**
+     * @param old
+     *         ( must be dd/MM/yyyy, hh:mm a )
+     * @param newDate
+     *         ( must be dd/MM/yyyy, hh:mm a )
+     * @return number of days
+     */
+    public static Long getDaysBetweenTwoDate(String old, String newDate, DateFormats dateFormats) {
+        long start = DateHelperMetrics.start();
+        Long diff = difference(old, newDate, dateFormats);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DAYS_BETWEEN_TWO_DATE, dateFormats, start, diff != null);
+        return diff == null ? null : TimeUnit.DAYS.convert(diff, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param old
+     *         ( must be dd/MM/yyyy, hh:mm a )
+     * @param newDate
+     *         ( must be dd/MM/yyyy, hh:mm a )
+     * @return number of hours
+     */
+    public static Long getHoursBetweenTwoDate(String old, String newDate, DateFormats dateFormats) {
+        long start = DateHelperMetrics.start();
+        Long diff = difference(old, newDate, dateFormats);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_HOURS_BETWEEN_TWO_DATE, dateFormats, start, diff != null);
+        return diff == null ? null : TimeUnit.HOURS.convert(diff, TimeUnit.MILLISECONDS);
+    }
+
+    public static Long getMinutesBetweenTwoDates(String old, String newDate, DateFormats dateFormats) {
+        long start = DateHelperMetrics.start();
+        Long diff = difference(old, newDate, dateFormats);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_MINUTES_BETWEEN_TWO_DATES, dateFormats, start, diff != null);
+        return diff == null ? null : TimeUnit.MINUTES.convert(diff, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses both dates once and reports {@code old - newDate} in every unit, for callers that would otherwise call
+     * {@link #getDaysBetweenTwoDate}, {@link #getHoursBetweenTwoDate} and {@link #getMinutesBetweenTwoDates} on the same
+     * pair.
+     *
+     * @return true if both dates parsed; otherwise {@code out} is marked invalid
+     */
+    public static boolean getDifference(String old, String newDate, DateFormats dateFormats, DateDifference out) {
+        long start = DateHelperMetrics.start();
+        Long diff = difference(old, newDate, dateFormats);
+        if (diff != null) {
+            out.set(diff);
+        } else {
+            out.invalidate();
+        }
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DIFFERENCE, dateFormats, start, diff != null);
+        return diff != null;
+    }
+
+    /**
+     * Batch form of {@link #getDifference(String, String, DateFormats, DateDifference)}: writes
+     * {@code old[i] - newDates[i]} converted to {@code unit} into {@code out[i]}. Large inputs are split across the common
+     * {@link java.util.concurrent.ForkJoinPool}, as in {@link #parseDates(String[], DateFormats, long[], long[])}.
+     *
+     * @param out
+     *         receives each difference, or 0 where either date failed; at least {@code old.length} long
+     * @param failures
+     *         bitmap with bit {@code i % 64} of word {@code i / 64} set where either date failed; at least
+     *         {@code (old.length + 63) / 64} long
+     * @return the number of pairs that failed to parse
+     * @throws IllegalArgumentException
+     *         if {@code old} and {@code newDates} differ in length
+     */
+    public static int getDifferences(String[] old, String[] newDates, DateFormats dateFormats, TimeUnit unit, long[] out,
+                                     long[] failures) {
+        return BatchParser.difference(old, newDates, dateFormats, unit, out, failures);
+    }
+
+    /**
+     * Parses {@code date} with whichever {@link DateFormats} constant fits it.
+     * <p>
+     * Candidates are picked by the input's shape (see {@link FormatDetector}) and the first one, in declaration order,
+     * that reads the whole input wins; e.g. {@code "14/04/25"} fits both {@code yy/MM/dd} and {@code dd/MM/yy} and is
+     * read as {@link DateFormats#S_YYMMDD}. Input that only parses leniently (single-digit fields, extra blanks, trailing
+     * text) is tried against every constant in declaration order, preferring one that reads the whole input.
+     *
+     * @return the parsed time, or 0 if no format matches
+     */
+    public static long parseAnyDate(String date) {
+        long start = DateHelperMetrics.start();
+        DateParseResult result = DateParseResult.local();
+        DateFormats matched = detect(date, result);
+        DateHelperMetrics.record(DateHelperMetrics.Method.PARSE_ANY_DATE, matched, start, matched != null);
+        return matched == null ? 0 : result.getTime();
+    }
+
+    /**
+     * @return the constant {@link #parseAnyDate(String)} picks, with its parse left in {@code result}, or null
+     */
+    private static DateFormats detect(String date, DateParseResult result) {
+        if (date == null) {
+            return null;
+        }
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        TimeZone zone = DayClock.today().zone;
+        for (DateFormats formats : FormatDetector.candidates(date, 0, date.length())) {
+            if (parseDate(date, formats, symbols, zone, result) && result.getIndex() == date.length()) {
+                return formats;
+            }
+        }
+        DateFormats matched = null;
+        for (DateFormats formats : DateFormats.values()) {
+            if (parseDate(date, formats, symbols, zone, result)) {
+                if (result.getIndex() == date.length()) {
+                    return formats;
+                }
+                if (matched == null) {
+                    matched = formats;
+                }
+            }
+        }
+        if (matched != null) {
+            parseDate(date, matched, symbols, zone, result);
+        }
+        return matched;
+    }
+
+    /**
+     * @return {@code date} parsed with {@code dateFormats}, or 0 if it does not match
+     */
+    public static long parseDate(String date, DateFormats dateFormats) {
+        DateParseResult result = DateParseResult.local();
+        parseDate(date, dateFormats, result);
+        return result.getTime();
+    }
+
+    /**
+     * Parses {@code date} without throwing or logging. Unlike {@link #parseDate(String, DateFormats)} a failure can be
+     * told apart from a parsed epoch and reports where and why it happened, see {@link DateParseResult}.
+     *
+     * @param result
+     *         receives the outcome; reuse one instance per thread to parse without allocating
+     * @return true if {@code date} was parsed
+     */
+    public static boolean parseDate(String date, DateFormats dateFormats, DateParseResult result) {
+        return parseDate(date, dateFormats, Locale.getDefault(), DayClock.today().zone, result);
+    }
+
+    /**
+     * {@link #parseDate(String, DateFormats)} for a given locale and time zone instead of the defaults, e.g. for a
+     * server handling requests from many regions. The formatters of recently used combinations are kept per thread, see
+     * {@link #getDesiredFormat(DateFormats, long, Locale, TimeZone)}.
+     *
+     * @return {@code date} read as a wall time in {@code zone}, or 0 if it does not match
+     */
+    public static long parseDate(String date, DateFormats dateFormats, Locale locale, TimeZone zone) {
+        DateParseResult result = DateParseResult.local();
+        parseDate(date, dateFormats, locale, zone, result);
+        return result.getTime();
+    }
+
+    /**
+     * {@link #parseDate(String, DateFormats, DateParseResult)} for a given locale and time zone instead of the defaults.
+     */
+    public static boolean parseDate(String date, DateFormats dateFormats, Locale locale, TimeZone zone,
+                                    DateParseResult result) {
+        long start = DateHelperMetrics.start();
+        boolean parsed = parseDate(date, dateFormats, DateSymbols.of(locale), zone, result);
+        DateHelperMetrics.record(DateHelperMetrics.Method.PARSE_DATE, dateFormats, start, parsed);
+        return parsed;
+    }
+
+    /**
+     * {@link #parseDate(String, DateFormats, DateParseResult)} with the locale and zone lookups hoisted out, for batch
+     * callers.
+     */
+    static boolean parseDate(String date, DateFormats dateFormats, DateSymbols symbols, TimeZone zone,
+                             DateParseResult result) {
+        DatePattern pattern = DatePattern.of(dateFormats);
+        if (date == null) {
+            result.fail(DateParseResult.ERROR_NULL_INPUT, 0);
+            return false;
+        }
+        backend.parse(date, 0, date.length(), pattern, symbols, zone, result);
+        return result.isSuccess();
+    }
+
+    /**
+     * Parses {@code text[start, end)}; indexes in {@code result} are relative to {@code text}.
+     */
+    static boolean parseDate(CharSequence text, int start, int end, DateFormats dateFormats, DateSymbols symbols,
+                             TimeZone zone, DateParseResult result) {
+        backend.parse(text, start, end, DatePattern.of(dateFormats), symbols, zone, result);
+        return result.isSuccess();
+    }
+
+    /**
+     * @return {@code bytes[offset, offset + length)}, UTF-8 text, parsed with {@code dateFormats}, or 0 if it does not
+     *         match
+     */
+    public static long parseDate(byte[] bytes, int offset, int length, DateFormats dateFormats) {
+        DateParseResult result = DateParseResult.local();
+        parseDate(bytes, offset, length, dateFormats, result);
+        return result.getTime();
+    }
+
+    /**
+     * Parses {@code bytes[offset, offset + length)} as UTF-8 text, with the same outcome as decoding it to a String and
+     * calling {@link #parseDate(String, DateFormats, DateParseResult)}. ASCII input, i.e. every date without accented
+     * month names, is read straight from the array without decoding or allocating.
+     *
+     * @param result
+     *         receives the outcome; its indexes are byte indexes into {@code bytes}
+     * @throws IndexOutOfBoundsException
+     *         if the range does not fit in {@code bytes}
+     */
+    public static boolean parseDate(byte[] bytes, int offset, int length, DateFormats dateFormats,
+                                    DateParseResult result) {
+        long start = DateHelperMetrics.start();
+        boolean parsed;
+        if (bytes == null) {
+            result.fail(DateParseResult.ERROR_NULL_INPUT, 0);
+            parsed = false;
+        } else {
+            if (offset < 0 || length < 0 || offset > bytes.length - length) {
+                throw new IndexOutOfBoundsException("Range " + offset + "+" + length + ", array holds " + bytes.length);
+            }
+            parsed = parseUtf8(AsciiSequence.local().reset(bytes, 0, bytes.length), offset, offset + length,
+                    dateFormats, DateSymbols.of(Locale.getDefault()), DayClock.today().zone, result);
+        }
+        DateHelperMetrics.record(DateHelperMetrics.Method.PARSE_DATE, dateFormats, start, parsed);
+        return parsed;
+    }
+
+    /**
+     * @return the bytes between {@code bytes}' position and limit, UTF-8 text, parsed with {@code dateFormats}, or 0 if
+     *         they do not match
+     */
+    public static long parseDateBuffer(ByteBuffer bytes, DateFormats dateFormats) {
+        DateParseResult result = DateParseResult.local();
+        parseDateBuffer(bytes, dateFormats, result);
+        return result.getTime();
+    }
+
+    /**
+     * {@link #parseDate(byte[], int, int, DateFormats, DateParseResult)} for the bytes between {@code bytes}' position
+     * and limit, heap or direct. The buffer's position, limit and mark are left unchanged. Named apart from the
+     * {@code parseDate} overloads so that existing {@code parseDate(null, ...)} calls stay unambiguous.
+     *
+     * @param result
+     *         receives the outcome; its indexes are absolute indexes into {@code bytes}
+     */
+    public static boolean parseDateBuffer(ByteBuffer bytes, DateFormats dateFormats, DateParseResult result) {
+        long start = DateHelperMetrics.start();
+        boolean parsed;
+        if (bytes == null) {
+            result.fail(DateParseResult.ERROR_NULL_INPUT, 0);
+            parsed = false;
+        } else {
+            parsed = parseUtf8(AsciiSequence.local().reset(bytes, 0, bytes.limit()), bytes.position(), bytes.limit(),
+                    dateFormats, DateSymbols.of(Locale.getDefault()), DayClock.today().zone, result);
+        }
+        DateHelperMetrics.record(DateHelperMetrics.Method.PARSE_DATE, dateFormats, start, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parses {@code bytes[start, end)} as UTF-8. ASCII goes straight to the parser; anything else, such as an accented
+     * month name, is decoded first and the resulting char indexes are mapped back to byte indexes.
+     */
+    static boolean parseUtf8(AsciiSequence bytes, int start, int end, DateFormats dateFormats, DateSymbols symbols,
+                             TimeZone zone, DateParseResult result) {
+        if (bytes.isAscii(start, end)) {
+            return parseDate(bytes, start, end, dateFormats, symbols, zone, result);
+        }
+        String text = bytes.subSequence(start, end).toString();
+        boolean parsed = parseDate(text, dateFormats, symbols, zone, result);
+        if (parsed) {
+            result.index = start + AsciiSequence.utf8Length(text, result.index);
+        } else if (result.errorIndex >= 0) {
+            result.errorIndex = start + AsciiSequence.utf8Length(text, result.errorIndex);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses every string in {@code dates} with one format. Large inputs are split across the common
+     * {@link java.util.concurrent.ForkJoinPool}; small ones are parsed on the calling thread.
+     *
+     * @param out
+     *         receives each parsed time, or 0 where parsing failed; at least {@code dates.length} long
+     * @param failures
+     *         bitmap with bit {@code i % 64} of word {@code i / 64} set where {@code dates[i]} failed and cleared
+     *         elsewhere; at least {@code (dates.length + 63) / 64} long
+     * @return the number of strings that failed to parse
+     */
+    public static int parseDates(String[] dates, DateFormats dateFormats, long[] out, long[] failures) {
+        return BatchParser.parse(dates, null, dates.length, dateFormats, out, failures);
+    }
+
+    /**
+     * {@link #parseDates(String[], DateFormats, long[], long[])} for a list; non-random-access lists are copied first.
+     */
+    public static int parseDates(List<String> dates, DateFormats dateFormats, long[] out, long[] failures) {
+        if (dates instanceof RandomAccess) {
+            return BatchParser.parse(null, dates, dates.size(), dateFormats, out, failures);
+        }
+        String[] array = dates.toArray(new String[0]);
+        return BatchParser.parse(array, null, array.length, dateFormats, out, failures);
+    }
+
+    /**
+     * @return {@code old - newDate} in millis, or null if either does not parse
+     */
+    private static Long difference(String old, String newDate, DateFormats dateFormats) {
+        DateParseResult result = DateParseResult.local();
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        TimeZone zone = DayClock.today().zone;
+        if (!parseDate(old, dateFormats, symbols, zone, result)) {
+            return null;
+        }
+        long oldTime = result.getTime();
+        if (!parseDate(newDate, dateFormats, symbols, zone, result)) {
+            return null;
+        }
+        return oldTime - result.getTime();
+    }
+
+    public static String getDesiredFormat(DateFormats formats) {
+        return getDesiredFormat(formats, System.currentTimeMillis());
+    }
+
+    public static String getDesiredFormat(DateFormats formats, long date) {
+        return getDesiredFormat(formats, date, Locale.getDefault(), DayClock.today().zone);
+    }
+
+    /**
+     * {@link #getDesiredFormat(DateFormats, long)} for a given locale and time zone instead of the defaults.
+     * <p>
+     * Each thread keeps the formatters of its most recently used locale and zone combinations and evicts the least
+     * recently used one beyond a small bound, so rendering for a handful of regions in turn rebuilds nothing. The
+     * combination of the previous defaults is evicted as soon as the default locale or time zone changes.
+     */
+    public static String getDesiredFormat(DateFormats formats, long date, Locale locale, TimeZone zone) {
+        long start = DateHelperMetrics.start();
+        String text = render(DatePattern.of(formats), date, locale, zone);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DESIRED_FORMAT, formats, start, true);
+        return text;
+    }
+
+    /**
+     * Appends {@code time} in {@code formats} to {@code out} without allocating.
+     *
+     * @return the number of chars written
+     */
+    public static int getDesiredFormat(DateFormats formats, long time, StringBuilder out) {
+        long start = DateHelperMetrics.start();
+        int length = write(DatePattern.of(formats), time, out);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DESIRED_FORMAT, formats, start, true);
+        return length;
+    }
+
+    /**
+     * Writes {@code time} in {@code formats} to {@code out} from {@code offset} without allocating.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException
+     *         if the text does not fit
+     */
+    public static int getDesiredFormat(DateFormats formats, long time, char[] out, int offset) {
+        long start = DateHelperMetrics.start();
+        int length = write(DatePattern.of(formats), time, out, offset);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DESIRED_FORMAT, formats, start, true);
+        return length;
+    }
+
+    /**
+     * Puts {@code time} in {@code formats} into {@code out} as UTF-8 at its position without allocating.
+     *
+     * @return the number of bytes written, the same as the number of chars for ASCII text
+     * @throws BufferOverflowException
+     *         if the text does not fit; nothing is written then
+     */
+    public static int getDesiredFormat(DateFormats formats, long time, ByteBuffer out) {
+        long start = DateHelperMetrics.start();
+        int length = write(DatePattern.of(formats), time, out);
+        DateHelperMetrics.record(DateHelperMetrics.Method.GET_DESIRED_FORMAT, formats, start, true);
+        return length;
+    }
+
+    public static String getDateFromDays(int numOfDays) {
+        return render(DatePattern.of(DateFormats.D_DDMMyy_N), DayClock.noon(numOfDays));
+    }
+
+    /**
+     * Formats {@code time} with {@code pattern} and parses the text back through the current backend, without recording
+     * metrics, so a later call finds the code loaded and the locale data in place. Used by {@link DateHelperWarmUp}.
+     */
+    static void warmUp(DatePattern pattern, long time, DateSymbols symbols, TimeZone zone, DateParseResult result) {
+        int length = backend.format(pattern, time, symbols.locale, zone);
+        backend.parse(new String(FormatterCache.chars(), 0, length), 0, length, pattern, symbols, zone, result);
+    }
+
+    /**
+     * {@link #warmUp(DatePattern, long, DateSymbols, TimeZone, DateParseResult)} for both patterns prettifyDate renders.
+     */
+    static void warmUpPrettify(long time, DateSymbols symbols, TimeZone zone, DateParseResult result) {
+        warmUp(TIME, time, symbols, zone, result);
+        warmUp(DAY_AND_TIME, time, symbols, zone, result);
+    }
+
+    private static String render(DatePattern pattern, long time) {
+        return render(pattern, time, Locale.getDefault(), DayClock.today().zone);
+    }
+
+    private static String render(DatePattern pattern, long time, Locale locale, TimeZone zone) {
+        int length = backend.format(pattern, time, locale, zone);
+        return new String(FormatterCache.chars(), 0, length);
+    }
+
+    private static int write(DatePattern pattern, long time, StringBuilder out) {
+        int length = backend.format(pattern, time, Locale.getDefault(), DayClock.today().zone);
+        out.append(FormatterCache.chars(), 0, length);
+        return length;
+    }
+
+    private static int write(DatePattern pattern, long time, char[] out, int offset) {
+        int length = backend.format(pattern, time, Locale.getDefault(), DayClock.today().zone);
+        if (offset < 0 || offset > out.length - length) {
+            throw new IndexOutOfBoundsException("Need " + length + " chars at " + offset + ", array holds " + out.length);
+        }
+        System.arraycopy(FormatterCache.chars(), 0, out, offset, length);
+        return length;
+    }
+
+    private static int write(DatePattern pattern, long time, ByteBuffer out) {
+        int length = backend.format(pattern, time, Locale.getDefault(), DayClock.today().zone);
+        char[] chars = FormatterCache.chars();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        if (bytes > out.remaining()) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xc0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                out.put((byte) (0xf0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                out.put((byte) (0x80 | codePoint & 0x3f));
+            } else {
+                out.put((byte) (0xe0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3f));
+                out.put((byte) (0x80 | c & 0x3f));
+            }
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.kxzhu.datehelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional call, failure and latency metrics for the main {@link DateHelper} entry points, kept per {@link Method} and
+ * per {@link DateHelper.DateFormats} constant.
+ * <p>
+ * Off by default. While off, an instrumented call reads one volatile flag and skips the clock entirely, so nothing is
+ * timed, counted or allocated. Once {@link #setEnabled(boolean) enabled}, each call is timed with
+ * {@link System#nanoTime()} and lands in a log-linear latency histogram (four buckets per power of two, so any
+ * percentile is read to within 25%). Histogram counts are striped by thread and updated with single atomic adds, and
+ * the per-series state is created on first use, so recording never locks and only the series actually hit cost memory.
+ * <p>
+ * Calls made by DateHelper itself are not double counted: e.g. {@link DateHelper#getDaysBetweenTwoDate} records one
+ * call, not one plus two parseDate calls. Batch methods are not instrumented. {@link #snapshot()} is meant to be polled
+ * by an exporter; it does not stop recording, so the numbers of one series can be a few calls apart.
+ */
+public final class DateHelperMetrics {
+
+    /**
+     * The instrumented methods. Every public overload of each is counted: {@link #PARSE_DATE} includes the
+     * {@link DateParseResult} and byte[] forms and parseDateBuffer, and {@link #GET_DESIRED_FORMAT} the StringBuilder,
+     * char[] and ByteBuffer forms. The fixed-pattern helpers such as getDateOnly, getToday and getDateFromDays, and the
+     * batch methods, are not counted.
+     */
+    public enum Method {
+        PARSE_DATE,
+        /**
+         * recorded against the constant that matched, or against no format when none did
+         */
+        PARSE_ANY_DATE,
+        GET_DESIRED_FORMAT,
+        PRETTIFY_DATE,
+        GET_DAYS_BETWEEN_TWO_DATE,
+        GET_HOURS_BETWEEN_TWO_DATE,
+        GET_MINUTES_BETWEEN_TWO_DATES,
+        GET_DIFFERENCE
+    }
+
+    /**
+     * Number of latency buckets; the last one also takes every call slower than about 18 minutes.
+     */
+    public static final int BUCKETS = 160;
+
+    /**
+     * {@link #start()} result while disabled
+     */
+    static final long OFF = Long.MIN_VALUE;
+
+    private static final int STRIPES = 4;
+    private static final int SLOTS = DateHelper.DateFormats.values().length + 1;
+    private static final Method[] METHODS = Method.values();
+    private static final DateHelper.DateFormats[] FORMATS = DateHelper.DateFormats.values();
+
+    private static volatile boolean enabled;
+    private static volatile AtomicReferenceArray<Series> series = new AtomicReferenceArray<>(METHODS.length * SLOTS);
+
+    private DateHelperMetrics() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        DateHelperMetrics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops everything recorded so far.
+     */
+    public static void reset() {
+        series = new AtomicReferenceArray<>(METHODS.length * SLOTS);
+    }
+
+    /**
+     * @return one snapshot per method and format that has recorded at least one call, in method then format order
+     */
+    public static List<Snapshot> snapshot() {
+        AtomicReferenceArray<Series> current = series;
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < current.length(); i++) {
+            Series s = current.get(i);
+            if (s == null) {
+                continue;
+            }
+            long[] histogram = new long[BUCKETS];
+            long calls = 0;
+            for (int k = 0; k < STRIPES * BUCKETS; k++) {
+                long count = s.histogram.get(k);
+                histogram[k % BUCKETS] += count;
+                calls += count;
+            }
+            int slot = i % SLOTS;
+            snapshots.add(new Snapshot(METHODS[i / SLOTS], slot == 0 ? null : FORMATS[slot - 1], calls,
+                    s.failures.sum(), s.totalNanos.sum(), histogram));
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return the smallest latency, in nanos, that falls in {@code bucket}
+     */
+    public static long bucketLowerBoundNanos(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int octave = bucket / 4 + 1;
+        return (long) (4 + bucket % 4) << (octave - 2);
+    }
+
+    /**
+     * @return the largest latency, in nanos, that falls in {@code bucket}
+     */
+    public static long bucketUpperBoundNanos(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : bucketLowerBoundNanos(bucket + 1) - 1;
+    }
+
+    /**
+     * @return a start time to pass to {@link #record}, read from the clock only while enabled
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Records a call that began at {@code start}; does nothing if metrics were off when it began.
+     *
+     * @param format
+     *         the constant the call used, or null
+     */
+    static void record(Method method, DateHelper.DateFormats format, long start, boolean success) {
+        if (start != OFF) {
+            series(method, format).record(System.nanoTime() - start, success);
+        }
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < 4) {
+            return nanos < 0 ? 0 : (int) nanos;
+        }
+        int octave = 63 - Long.numberOfLeadingZeros(nanos);
+        int bucket = (octave - 1) * 4 + (int) (nanos >>> (octave - 2) & 3);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static Series series(Method method, DateHelper.DateFormats format) {
+        AtomicReferenceArray<Series> current = series;
+        int index = method.ordinal() * SLOTS + (format == null ? 0 : format.ordinal() + 1);
+        Series s = current.get(index);
+        if (s == null) {
+            Series created = new Series();
+            s = current.compareAndSet(index, null, created) ? created : current.get(index);
+        }
+        return s;
+    }
+
+    private static final class Series {
+        final AtomicLongArray histogram = new AtomicLongArray(STRIPES * BUCKETS);
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos, boolean success) {
+            int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            histogram.incrementAndGet(stripe * BUCKETS + bucket(nanos));
+            totalNanos.add(nanos);
+            if (!success) {
+                failures.increment();
+            }
+        }
+    }
+
+    /**
+     * Counts and latency histogram of one method with one format, at the time {@link #snapshot()} was taken.
+     */
+    public static final class Snapshot {
+        private final Method method;
+        private final DateHelper.DateFormats format;
+        private final long calls;
+        private final long failures;
+        private final long totalNanos;
+        private final long[] histogram;
+
+        Snapshot(Method method, DateHelper.DateFormats format, long calls, long failures, long totalNanos,
+                 long[] histogram) {
+            this.method = method;
+            this.format = format;
+            this.calls = calls;
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+            this.histogram = histogram;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the format the calls used, or null for methods that take none and failed
+         *         {@link Method#PARSE_ANY_DATE} calls
+         */
+        public DateHelper.DateFormats getFormat() {
+            return format;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return calls that failed to parse, i.e. returned 0, false or null
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+
+        /**
+         * @return call counts per bucket, see {@link #bucketLowerBoundNanos(int)}
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        /**
+         * @param percentile
+         *         0-100, e.g. 99 for p99
+         * @return the upper bound of the bucket holding that percentile, or 0 with no calls
+         */
+        public long getPercentileNanos(double percentile) {
+            long rank = (long) Math.ceil(calls * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return bucketUpperBoundNanos(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return method + (format == null ? "" : "/" + format) + "{calls=" + calls + ", failures=" + failures
+                    + ", mean=" + getMeanNanos() + "ns, p50=" + getPercentileNanos(50) + "ns, p99="
+                    + getPercentileNanos(99) + "ns}";
+        }
+    }
+}
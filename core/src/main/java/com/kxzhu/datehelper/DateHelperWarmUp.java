@@ -0,0 +1,178 @@
+package com.kxzhu.datehelper;
+
+import java.text.DateFormatSymbols;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Prepares {@link DateHelper} off the calling thread, so the first real call does not pay for it.
+ * <p>
+ * The first call in a process loads DateHelper's classes and the compiled patterns, reads the default locale's month
+ * and AM/PM names, builds the current decade of the default time zone's {@link ZoneTransitions} table and runs the
+ * format and parse code for the first time. {@link #start(Set)} does all of that on a background thread for the
+ * default locale and time zone, formatting and parsing one instant with each requested {@link DateHelper.DateFormats}
+ * constant and with both {@link DateHelper#prettifyDate(long)} patterns, through whichever backend is selected. Call
+ * it early, e.g. from {@code Application.onCreate()}, after {@link DateHelper#setBackend(DateHelper.Backend)}.
+ * <p>
+ * Everything warmed is shared by all threads except the per-thread SimpleDateFormat instances of
+ * {@link FormatterCache}, which each thread still creates on first use; their locale data is loaded by then. Warm-up
+ * calls are not recorded by {@link DateHelperMetrics} and do not touch {@link PrettifyCache}.
+ */
+public final class DateHelperWarmUp {
+
+    private DateHelperWarmUp() {
+    }
+
+    /**
+     * Warms every {@link DateHelper.DateFormats} constant on a new background thread.
+     */
+    public static Future<Stats> start() {
+        return start(EnumSet.allOf(DateHelper.DateFormats.class));
+    }
+
+    /**
+     * Warms {@code formats} on a new background thread, a daemon so it never keeps the process alive.
+     */
+    public static Future<Stats> start(Set<DateHelper.DateFormats> formats) {
+        return start(formats, new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                Thread thread = new Thread(task, "DateHelper-warm-up");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        });
+    }
+
+    /**
+     * Warms {@code formats} on {@code executor}.
+     *
+     * @return completes with the timings once warm-up is done, or with the exception that stopped it
+     */
+    public static Future<Stats> start(Set<DateHelper.DateFormats> formats, Executor executor) {
+        final DateHelper.DateFormats[] chosen = formats.toArray(new DateHelper.DateFormats[0]);
+        final long queued = System.nanoTime();
+        FutureTask<Stats> task = new FutureTask<>(new Callable<Stats>() {
+            @Override
+            public Stats call() {
+                return run(chosen, queued);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    static Stats run(DateHelper.DateFormats[] formats, long queued) {
+        long start = System.nanoTime();
+        DateHelper.getBackend();
+        DatePattern.of(DateHelper.DateFormats.D_YYYYMMDD);
+        PrettifyCache.hitCount();
+        TimeZone zone = DayClock.today().zone;
+        Locale locale = Locale.getDefault();
+
+        long classesDone = System.nanoTime();
+        DateSymbols symbols = DateSymbols.of(locale);
+        // what a SimpleDateFormat fallback reads its names from
+        DateFormatSymbols.getInstance(locale);
+
+        long symbolsDone = System.nanoTime();
+        ZoneTransitions.offset(zone, System.currentTimeMillis());
+
+        long zoneDone = System.nanoTime();
+        long time = System.currentTimeMillis();
+        DateParseResult result = new DateParseResult();
+        DateHelper.warmUpPrettify(time, symbols, zone, result);
+        for (DateHelper.DateFormats format : formats) {
+            DateHelper.warmUp(DatePattern.of(format), time, symbols, zone, result);
+        }
+        long end = System.nanoTime();
+        return new Stats(formats.length, start - queued, classesDone - start, symbolsDone - classesDone,
+                zoneDone - symbolsDone, end - zoneDone, end - start);
+    }
+
+    /**
+     * How long each step of one warm-up took, in nanos.
+     */
+    public static final class Stats {
+        private final int formatCount;
+        private final long queuedNanos;
+        private final long classesNanos;
+        private final long symbolsNanos;
+        private final long zoneNanos;
+        private final long formatsNanos;
+        private final long totalNanos;
+
+        Stats(int formatCount, long queuedNanos, long classesNanos, long symbolsNanos, long zoneNanos,
+              long formatsNanos, long totalNanos) {
+            this.formatCount = formatCount;
+            this.queuedNanos = queuedNanos;
+            this.classesNanos = classesNanos;
+            this.symbolsNanos = symbolsNanos;
+            this.zoneNanos = zoneNanos;
+            this.formatsNanos = formatsNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @return the number of {@link DateHelper.DateFormats} constants warmed, not counting the prettifyDate patterns
+         */
+        public int getFormatCount() {
+            return formatCount;
+        }
+
+        /**
+         * @return time between the call and the executor starting the warm-up; not part of {@link #getTotalNanos()}
+         */
+        public long getQueuedNanos() {
+            return queuedNanos;
+        }
+
+        /**
+         * @return time spent loading and initializing DateHelper's classes and the compiled patterns
+         */
+        public long getClassesNanos() {
+            return classesNanos;
+        }
+
+        /**
+         * @return time spent loading the default locale's symbols
+         */
+        public long getSymbolsNanos() {
+            return symbolsNanos;
+        }
+
+        /**
+         * @return time spent building the default time zone's transition table
+         */
+        public long getZoneNanos() {
+            return zoneNanos;
+        }
+
+        /**
+         * @return time spent formatting and parsing with each format
+         */
+        public long getFormatsNanos() {
+            return formatsNanos;
+        }
+
+        /**
+         * @return time from the executor starting the warm-up to its end
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{formats=" + formatCount + ", queued=" + queuedNanos + "ns, classes=" + classesNanos
+                    + "ns, symbols=" + symbolsNanos + "ns, zone=" + zoneNanos + "ns, formats=" + formatsNanos
+                    + "ns, total=" + totalNanos + "ns}";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kxzhu.datehelper;
+
+/**
+ * Outcome of a non-throwing parse such as {@link DateHelper#parseDate(String, DateHelper.DateFormats, DateParseResult)}.
+ * <p>
+ * Works like {@link java.text.ParsePosition}: the caller keeps one instance and passes it to every parse, which
+ * overwrites it. On success it holds the parsed time and the index just past the parsed text; on failure an error code
+ * and the index where parsing stopped; a new instance reports {@link #ERROR_NOT_PARSED} until its first parse. Neither
+ * path throws or logs, and with the default backend neither allocates, so a stream of dirty input costs no more than a
+ * stream of clean input; only text that needs one of SimpleDateFormat's lenient corner cases, or a wall time within a
+ * day of a time zone transition, allocates on the way to the same outcome. An instance must not be shared between
+ * threads.
+ */
+public final class DateParseResult {
+
+    public static final int ERROR_NONE = 0;
+    /**
+     * the text to parse was null
+     */
+    public static final int ERROR_NULL_INPUT = 1;
+    /**
+     * the text does not match the pattern at {@link #getErrorIndex()}
+     */
+    public static final int ERROR_MISMATCH = 2;
+    /**
+     * the text ended before the pattern did
+     */
+    public static final int ERROR_END_OF_INPUT = 3;
+    /**
+     * nothing has been parsed into this instance yet
+     */
+    public static final int ERROR_NOT_PARSED = 4;
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    /**
+     * The text needs one of SimpleDateFormat's lenient corner cases (signs, exponents, non-ASCII digits, ambiguous
+     * two-digit years, dates near a zone transition or before the Gregorian cutover); the caller must fall back to it.
+     */
+    static final int UNSUPPORTED = 2;
+    static final int NOT_PARSED = 3;
+
+    private static final ThreadLocal<DateParseResult> LOCAL = new ThreadLocal<DateParseResult>() {
+        @Override
+        protected DateParseResult initialValue() {
+            return new DateParseResult();
+        }
+    };
+
+    int status = NOT_PARSED;
+    long time;
+    /**
+     * index just past the parsed text on success
+     */
+    int index;
+    /**
+     * index where parsing stopped on failure, as SimpleDateFormat reports it through ParsePosition
+     */
+    int errorIndex = -1;
+    int errorCode = ERROR_NOT_PARSED;
+
+    public DateParseResult() {
+    }
+
+    static DateParseResult local() {
+        return LOCAL.get();
+    }
+
+    public boolean isSuccess() {
+        return status == OK;
+    }
+
+    /**
+     * @return the parsed time in epoch millis, or 0 if parsing failed
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return the index just past the parsed text; text after it is ignored, as with SimpleDateFormat
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return one of the {@code ERROR_} constants
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return the index where parsing failed, or -1 on success
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    void success(long time, int index) {
+        this.status = OK;
+        this.time = time;
+        this.index = index;
+        this.errorIndex = -1;
+        this.errorCode = ERROR_NONE;
+    }
+
+    void fail(int errorCode, int errorIndex) {
+        this.status = FAILED;
+        this.time = 0;
+        this.index = 0;
+        this.errorIndex = errorIndex;
+        this.errorCode = errorCode;
+    }
+
+    void unsupported() {
+        this.status = UNSUPPORTED;
+        this.time = 0;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "DateParseResult{time=" + time + ", index=" + index + "}"
+                : "DateParseResult{errorCode=" + errorCode + ", errorIndex=" + errorIndex + "}";
+    }
+}
@@ -0,0 +1,687 @@
+package com.kxzhu.datehelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Hand-written parser and formatter for the small pattern grammar used by {@link DateHelper.DateFormats}: {@code y}, {@code M},
+ * {@code MMM}, {@code d}, {@code h}, {@code H}, {@code m}, {@code s}, {@code a} and literal separators.
+ * <p>
+ * Each pattern is compiled once into a list of field and literal steps. Parsing reads digits and names straight from the
+ * text and computes epoch millis with {@link EpochCalendar} arithmetic, without creating {@code Date}, {@code Calendar} or
+ * {@code ParsePosition} objects. It follows {@link java.text.SimpleDateFormat}'s lenient rules exactly: leading blanks
+ * before fields, greedy digit runs, trailing text ignored, out-of-range values rolled over and two-digit years placed in
+ * the 80-years-back/20-years-ahead window. Inputs that would need one of its rarer corner cases are reported as
+ * {@link DateParseResult#UNSUPPORTED} so the caller can hand them to SimpleDateFormat itself.
+ * <p>
+ * Patterns made only of two- and four-digit fields between literals, optionally ending in {@code a}, such as
+ * {@code yyyy-MM-dd}, also get a fixed layout. Text in exactly that layout is read eight chars at a time into a
+ * {@code long} and every digit and separator is checked with a few mask operations (SIMD within a register) before the
+ * fields are decoded, with no per-char branches; anything else takes the general path. A {@code ByteBuffer} is loaded a
+ * word at a time in place, and a {@code String} is first copied into a per-thread byte buffer with one bulk copy and
+ * loaded the same way; byte arrays and other {@link CharSequence}s are packed a char at a time.
+ * <p>
+ * For the {@link DateHelper.DateFormats} constants the general path is not the step loop here but a parser and formatter
+ * generated at build time, one straight-line class each per constant (see {@code GenerateDatePatterns} in
+ * {@code buildSrc}), reached through {@code GeneratedPatterns}' switch. They are built from the same step methods, so
+ * only patterns compiled at run time are interpreted.
+ * <p>
+ * Formatting writes the same characters SimpleDateFormat would straight into a {@code char[]}.
+ */
+final class DatePattern {
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int MONTH_NAME = 3;
+    private static final int DAY = 4;
+    private static final int HOUR = 5;
+    private static final int HOUR_OF_DAY = 6;
+    private static final int MINUTE = 7;
+    private static final int SECOND = 8;
+    private static final int AM_PM = 9;
+
+    /**
+     * GregorianCalendar switches to the Julian calendar before 1582, so anything near or before that is left to it
+     */
+    private static final long MIN_YEAR = 1600;
+    private static final long MAX_YEAR = 999999;
+    private static final long MIN_EPOCH_DAY = EpochCalendar.daysFromCivil(MIN_YEAR, 1, 1);
+
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_NIBBLES = 0xf0f0f0f0f0f0f0f0L;
+    private static final long SIXES = 0x0606060606060606L;
+    /**
+     * longest fixed layout, three words
+     */
+    private static final int MAX_FIXED_LENGTH = 24;
+
+    private static final DatePattern[] BY_FORMAT;
+
+    static {
+        DateHelper.DateFormats[] formats = DateHelper.DateFormats.values();
+        BY_FORMAT = new DatePattern[formats.length];
+        for (DateHelper.DateFormats format : formats) {
+            DatePattern pattern = compile(format.getDateFormat());
+            pattern.format = format;
+            BY_FORMAT[format.ordinal()] = pattern;
+        }
+    }
+
+    private final String pattern;
+    private final int[] kinds;
+    private final int[] args;
+    /**
+     * the constant this pattern was compiled from, whose generated parser and formatter are used instead of the loops
+     * here; null for other patterns
+     */
+    private DateHelper.DateFormats format;
+
+    /**
+     * length of the fixed layout, or 0 if the pattern has none
+     */
+    private int fixedLength;
+    private boolean fixedAmPm;
+    /**
+     * per 8-char word of the layout: 0xff in each digit byte, 0xff in each literal byte, and the literals themselves
+     */
+    private long[] digitMasks;
+    private long[] literalMasks;
+    private long[] literalBytes;
+    /**
+     * bit {@code c} set for each literal, all below 64, to tell whether DecimalFormat could read one as an exponent
+     */
+    private long literalChars;
+    /**
+     * per digit field: kind, index of its first digit and number of digits
+     */
+    private int[] fieldKinds;
+    private int[] fieldPositions;
+    private int[] fieldWidths;
+
+    private DatePattern(String pattern, int[] kinds, int[] args) {
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.args = args;
+        compileFixedLayout();
+    }
+
+    static DatePattern of(DateHelper.DateFormats format) {
+        return BY_FORMAT[format.ordinal()];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern uses a letter outside the supported grammar
+     */
+    static DatePattern compile(String pattern) {
+        List<int[]> steps = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                steps.add(new int[]{fieldKind(c, run, pattern), run});
+                i += run;
+            } else if (c == '\'') {
+                throw new IllegalArgumentException("Quoted text is not supported: " + pattern);
+            } else {
+                steps.add(new int[]{LITERAL, c});
+                i++;
+            }
+        }
+        int[] kinds = new int[steps.size()];
+        int[] args = new int[steps.size()];
+        for (int step = 0; step < kinds.length; step++) {
+            kinds[step] = steps.get(step)[0];
+            args[step] = steps.get(step)[1];
+        }
+        return new DatePattern(pattern, kinds, args);
+    }
+
+    private static int fieldKind(char letter, int count, String pattern) {
+        switch (letter) {
+            case 'y':
+                return YEAR;
+            case 'M':
+                return count <= 2 ? MONTH : MONTH_NAME;
+            case 'd':
+                return DAY;
+            case 'h':
+                return HOUR;
+            case 'H':
+                return HOUR_OF_DAY;
+            case 'm':
+                return MINUTE;
+            case 's':
+                return SECOND;
+            case 'a':
+                return AM_PM;
+            default:
+                throw new IllegalArgumentException("Unsupported pattern letter '" + letter + "' in " + pattern);
+        }
+    }
+
+    private void compileFixedLayout() {
+        List<int[]> fields = new ArrayList<>();
+        int length = 0;
+        boolean afterDigits = false;
+        for (int step = 0; step < kinds.length; step++) {
+            int kind = kinds[step];
+            int count = args[step];
+            if (kind == LITERAL) {
+                if (count >= 64 || (count >= '0' && count <= '9')) {
+                    // a digit would extend the field before it; others must fit the exponent bitmask
+                    return;
+                }
+                length++;
+                afterDigits = false;
+            } else if (kind == AM_PM && step == kinds.length - 1) {
+                fixedAmPm = true;
+            } else if (kind == MONTH_NAME || kind == AM_PM || afterDigits
+                    || (count != 2 && !(kind == YEAR && count == 4))) {
+                // names vary in length; adjacent digit fields would run together in a greedy read
+                return;
+            } else {
+                fields.add(new int[]{kind, length, count});
+                length += count;
+                afterDigits = true;
+            }
+        }
+        if (fields.isEmpty() || length > MAX_FIXED_LENGTH) {
+            return;
+        }
+
+        int words = (length + 7) / 8;
+        digitMasks = new long[words];
+        literalMasks = new long[words];
+        literalBytes = new long[words];
+        int pos = 0;
+        for (int step = 0; step < kinds.length; step++) {
+            if (kinds[step] == AM_PM) {
+                continue;
+            }
+            int width = kinds[step] == LITERAL ? 1 : args[step];
+            for (int k = 0; k < width; k++, pos++) {
+                int shift = (pos & 7) << 3;
+                if (kinds[step] == LITERAL) {
+                    char c = (char) args[step];
+                    literalMasks[pos >> 3] |= 0xffL << shift;
+                    literalBytes[pos >> 3] |= (long) c << shift;
+                    literalChars |= 1L << c;
+                } else {
+                    digitMasks[pos >> 3] |= 0xffL << shift;
+                }
+            }
+        }
+        fieldKinds = new int[fields.size()];
+        fieldPositions = new int[fields.size()];
+        fieldWidths = new int[fields.size()];
+        for (int i = 0; i < fieldKinds.length; i++) {
+            fieldKinds[i] = fields.get(i)[0];
+            fieldPositions[i] = fields.get(i)[1];
+            fieldWidths[i] = fields.get(i)[2];
+        }
+        fixedLength = length;
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return true if the pattern has a fixed layout that {@link #parse} tries first
+     */
+    boolean hasFixedLayout() {
+        return fixedLength > 0;
+    }
+
+    /**
+     * Parses {@code text[start, end)} and reports the outcome in {@code result}.
+     *
+     * @param centuryStartYear
+     *         the year two-digit years are placed after, as SimpleDateFormat's default century start
+     */
+    void parse(CharSequence text, int start, int end, DateSymbols symbols, TimeZone zone, int centuryStartYear,
+               DateParseResult result) {
+        if (!symbols.supported) {
+            result.unsupported();
+            return;
+        }
+        if (fixedLength > 0 && parseFixed(text, start, end, symbols, zone, centuryStartYear, result)) {
+            return;
+        }
+        if (format != null) {
+            GeneratedPatterns.parse(format, text, start, end, symbols, zone, centuryStartYear, result);
+            return;
+        }
+        int year = 1970;
+        int month = 0;
+        int day = 1;
+        int hour = 0;
+        int hourOfDay = -1;
+        int minute = 0;
+        int second = 0;
+        int amPm = 0;
+
+        int pos = start;
+        for (int step = 0; step < kinds.length; step++) {
+            int kind = kinds[step];
+            int value;
+            switch (kind) {
+                case LITERAL:
+                    value = 0;
+                    pos = literal(text, pos, end, (char) args[step], result);
+                    break;
+                case YEAR:
+                    value = args[step] <= 2
+                            ? shortYear(text, pos, end, symbols, centuryStartYear, result)
+                            : number(text, pos, end, symbols, result);
+                    break;
+                case MONTH_NAME:
+                    value = name(text, pos, end, symbols.monthTrie, symbols.monthNames, symbols.monthValues, result);
+                    break;
+                case AM_PM:
+                    value = name(text, pos, end, symbols.amPmTrie, symbols.amPmNames, symbols.amPmValues, result);
+                    break;
+                default:
+                    value = number(text, pos, end, symbols, result);
+                    break;
+            }
+            if (value < 0 || pos < 0) {
+                return;
+            }
+            if (kind == LITERAL) {
+                continue;
+            }
+            pos = result.index;
+            switch (kind) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value - 1;
+                    break;
+                case MONTH_NAME:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value == 12 ? 0 : value;
+                    break;
+                case HOUR_OF_DAY:
+                    hourOfDay = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    amPm = value;
+                    break;
+            }
+        }
+        resolve(year, month, day, hour, hourOfDay, amPm, minute, second, zone, pos, result);
+    }
+
+    /*
+     * Steps shared by the loop above and the generated per-format parsers, so both read text exactly alike. Field
+     * steps return the value read, or -1 once they have reported a failure or an unsupported input in result; on
+     * success result.index holds the position after the field until the parse completes.
+     */
+
+    /**
+     * @return {@code pos + 1} if {@code c} is at {@code pos}, or -1 with the failure reported
+     */
+    static int literal(CharSequence text, int pos, int end, char c, DateParseResult result) {
+        if (pos >= end) {
+            result.fail(DateParseResult.ERROR_END_OF_INPUT, pos);
+            return -1;
+        }
+        if (text.charAt(pos) != c) {
+            result.fail(DateParseResult.ERROR_MISMATCH, pos);
+            return -1;
+        }
+        return pos + 1;
+    }
+
+    /**
+     * Reads a number as DecimalFormat would for a date field: blanks skipped, then up to nine ASCII digits.
+     */
+    static int number(CharSequence text, int pos, int end, DateSymbols symbols, DateParseResult result) {
+        int fieldStart = pos;
+        pos = skipBlanks(text, pos, end);
+        if (pos >= end) {
+            result.fail(DateParseResult.ERROR_END_OF_INPUT, fieldStart);
+            return -1;
+        }
+        char c = text.charAt(pos);
+        if (c < '0' || c > '9') {
+            if (symbols.startsSpecialNumber(c)) {
+                result.unsupported();
+            } else {
+                result.fail(DateParseResult.ERROR_MISMATCH, pos);
+            }
+            return -1;
+        }
+        int digitsStart = pos;
+        int value = 0;
+        while (pos < end && pos - digitsStart < 9 && (c = text.charAt(pos)) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            pos++;
+        }
+        if (pos < end && symbols.continuesNumber(text.charAt(pos))) {
+            result.unsupported();
+            return -1;
+        }
+        result.index = pos;
+        return value;
+    }
+
+    /**
+     * Reads a {@code y} or {@code yy} year, placing exactly two digits in the century window.
+     */
+    static int shortYear(CharSequence text, int pos, int end, DateSymbols symbols, int centuryStartYear,
+                         DateParseResult result) {
+        int value = number(text, pos, end, symbols, result);
+        if (value < 0 || result.index - skipBlanks(text, pos, end) != 2) {
+            return value;
+        }
+        int ambiguousTwoDigitYear = centuryStartYear % 100;
+        if (value == ambiguousTwoDigitYear) {
+            result.unsupported();
+            return -1;
+        }
+        return value + (centuryStartYear / 100) * 100 + (value < ambiguousTwoDigitYear ? 100 : 0);
+    }
+
+    /**
+     * Reads a month or AM/PM name.
+     */
+    static int name(CharSequence text, int pos, int end, NameTrie trie, String[] names, int[] values,
+                    DateParseResult result) {
+        int fieldStart = pos;
+        pos = skipBlanks(text, pos, end);
+        if (pos >= end) {
+            result.fail(DateParseResult.ERROR_END_OF_INPUT, fieldStart);
+            return -1;
+        }
+        // SimpleDateFormat matches names from the field start, before the skipped blanks
+        int match = trie.match(text, fieldStart, end);
+        if (match < 0) {
+            result.fail(DateParseResult.ERROR_MISMATCH, pos);
+            return -1;
+        }
+        result.index = fieldStart + names[match].length();
+        return values[match];
+    }
+
+    private static int skipBlanks(CharSequence text, int pos, int end) {
+        while (pos < end && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Reads text in the fixed layout. The checks mirror the general path's: the text must not continue a number where
+     * DecimalFormat would, and an ambiguous two-digit year is left to it as well.
+     *
+     * @return false, with {@code result} untouched, if the text is not in the layout and needs the general path
+     */
+    private boolean parseFixed(CharSequence text, int start, int end, DateSymbols symbols, TimeZone zone,
+                               int centuryStartYear, DateParseResult result) {
+        int pos = start + fixedLength;
+        if (pos > end || (symbols.exponentStart < 64 && (literalChars >>> symbols.exponentStart & 1) != 0)) {
+            return false;
+        }
+        AsciiSequence bytes = null;
+        // where the layout starts in bytes, or in text when there are no bytes
+        int base = start;
+        if (text instanceof AsciiSequence) {
+            bytes = (AsciiSequence) text;
+        } else if (text instanceof String) {
+            bytes = AsciiSequence.latin1((String) text, start, fixedLength);
+            if (bytes == null) {
+                return false;
+            }
+            base = 0;
+        }
+        long word0 = 0;
+        long word1 = 0;
+        long word2 = 0;
+        for (int i = 0; i < digitMasks.length; i++) {
+            long word = word(text, bytes, base + (i << 3), Math.min(8, fixedLength - (i << 3)));
+            long digitMask = digitMasks[i];
+            long digits = word & digitMask;
+            long zeros = ZEROS & digitMask;
+            long high = HIGH_NIBBLES & digitMask;
+            // 0x30..0x3f has the right high nibble; adding 6 pushes 0x3a..0x3f, and only those, out of it
+            if ((digits & high) != zeros || ((digits + (SIXES & digitMask)) & high) != zeros
+                    || (word & literalMasks[i]) != literalBytes[i]) {
+                return false;
+            }
+            if (i == 0) {
+                word0 = word;
+            } else if (i == 1) {
+                word1 = word;
+            } else {
+                word2 = word;
+            }
+        }
+        if (pos < end && symbols.continuesNumber(text.charAt(pos))) {
+            return false;
+        }
+        int amPm = 0;
+        if (fixedAmPm) {
+            int match = pos < end ? symbols.amPmTrie.match(text, pos, end) : -1;
+            if (match < 0) {
+                return false;
+            }
+            amPm = symbols.amPmValues[match];
+            pos += symbols.amPmNames[match].length();
+        }
+
+        int year = 1970;
+        int month = 0;
+        int day = 1;
+        int hour = 0;
+        int hourOfDay = -1;
+        int minute = 0;
+        int second = 0;
+        for (int field = 0; field < fieldKinds.length; field++) {
+            int at = fieldPositions[field];
+            int value = digit(word0, word1, word2, at) * 10 + digit(word0, word1, word2, at + 1);
+            if (fieldWidths[field] == 4) {
+                value = value * 100 + digit(word0, word1, word2, at + 2) * 10 + digit(word0, word1, word2, at + 3);
+            }
+            switch (fieldKinds[field]) {
+                case YEAR:
+                    if (fieldWidths[field] == 2) {
+                        int ambiguousTwoDigitYear = centuryStartYear % 100;
+                        if (value == ambiguousTwoDigitYear) {
+                            return false;
+                        }
+                        value += (centuryStartYear / 100) * 100 + (value < ambiguousTwoDigitYear ? 100 : 0);
+                    }
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value - 1;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value == 12 ? 0 : value;
+                    break;
+                case HOUR_OF_DAY:
+                    hourOfDay = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                default:
+                    second = value;
+                    break;
+            }
+        }
+        resolve(year, month, day, hour, hourOfDay, amPm, minute, second, zone, pos, result);
+        return true;
+    }
+
+    /**
+     * @return chars {@code [index, index + count)} packed little-endian one per byte, or 0, which no layout word
+     *         matches, if one does not fit in a byte
+     */
+    private static long word(CharSequence text, AsciiSequence bytes, int index, int count) {
+        if (bytes != null) {
+            return bytes.word(index, count);
+        }
+        long word = 0;
+        int wide = 0;
+        for (int k = 0; k < count; k++) {
+            char c = text.charAt(index + k);
+            wide |= c;
+            word |= (long) c << (k << 3);
+        }
+        return wide < 0x100 ? word : 0;
+    }
+
+    private static int digit(long word0, long word1, long word2, int index) {
+        long word = index < 8 ? word0 : index < 16 ? word1 : word2;
+        return (int) (word >>> ((index & 7) << 3)) & 0xf;
+    }
+
+    /**
+     * Turns parsed field values into epoch millis, rolling over out-of-range values as a lenient Calendar does.
+     */
+    static void resolve(int year, int month, int day, int hour, int hourOfDay, int amPm, int minute, int second,
+                        TimeZone zone, int end, DateParseResult result) {
+        long normalizedYear = year + (long) Math.floorDiv(month, 12);
+        if (normalizedYear < MIN_YEAR || normalizedYear > MAX_YEAR) {
+            result.unsupported();
+            return;
+        }
+        long hours = hourOfDay >= 0 ? hourOfDay : hour + 12L * amPm;
+        long local = EpochCalendar.toLocal(normalizedYear, Math.floorMod(month, 12) + 1, day, hours, minute, second);
+        if (EpochCalendar.epochDay(local) < MIN_EPOCH_DAY) {
+            result.unsupported();
+            return;
+        }
+        long time = EpochCalendar.toEpochMillis(local, zone);
+        if (time == EpochCalendar.UNRESOLVED) {
+            result.unsupported();
+            return;
+        }
+        result.success(time, end);
+    }
+
+    /**
+     * Writes {@code time} in this pattern to {@code out}, starting at index 0.
+     *
+     * @return the number of chars written, or -1 if the date or locale needs SimpleDateFormat itself or {@code out} is
+     *         too short
+     */
+    int format(long time, TimeZone zone, DateSymbols symbols, char[] out) {
+        if (!symbols.supported) {
+            return -1;
+        }
+        long local = EpochCalendar.toLocal(time, zone);
+        long epochDay = EpochCalendar.epochDay(local);
+        if (epochDay < MIN_EPOCH_DAY) {
+            return -1;
+        }
+        long civil = EpochCalendar.civilFromDays(epochDay);
+        int year = EpochCalendar.year(civil);
+        int month = EpochCalendar.month(civil);
+        int day = EpochCalendar.day(civil);
+        int secondOfDay = EpochCalendar.millisOfDay(local) / 1000;
+        int hourOfDay = secondOfDay / 3600;
+        if (format != null) {
+            return GeneratedPatterns.format(format, year, month, day, hourOfDay, secondOfDay, symbols, out);
+        }
+
+        int pos = 0;
+        for (int step = 0; step < kinds.length; step++) {
+            int count = args[step];
+            switch (kinds[step]) {
+                case LITERAL:
+                    if (pos == out.length) {
+                        return -1;
+                    }
+                    out[pos++] = (char) count;
+                    break;
+                case YEAR:
+                    // SimpleDateFormat clips the year to its last two digits for "yy" only
+                    pos = count == 2 ? pad(year % 100, 2, symbols.zeroDigit, out, pos)
+                            : pad(year, count, symbols.zeroDigit, out, pos);
+                    break;
+                case MONTH:
+                    pos = pad(month, count, symbols.zeroDigit, out, pos);
+                    break;
+                case MONTH_NAME:
+                    pos = count == 3 ? append(symbols.shortMonths[month - 1], out, pos) : -1;
+                    break;
+                case DAY:
+                    pos = pad(day, count, symbols.zeroDigit, out, pos);
+                    break;
+                case HOUR:
+                    pos = pad(hourOfDay % 12 == 0 ? 12 : hourOfDay % 12, count, symbols.zeroDigit, out, pos);
+                    break;
+                case HOUR_OF_DAY:
+                    pos = pad(hourOfDay, count, symbols.zeroDigit, out, pos);
+                    break;
+                case MINUTE:
+                    pos = pad(secondOfDay / 60 % 60, count, symbols.zeroDigit, out, pos);
+                    break;
+                case SECOND:
+                    pos = pad(secondOfDay % 60, count, symbols.zeroDigit, out, pos);
+                    break;
+                default:
+                    pos = append(symbols.amPmStrings[hourOfDay / 12], out, pos);
+                    break;
+            }
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Writes non-negative {@code value} with at least {@code minDigits} digits, as SimpleDateFormat's zeroPaddingNumber.
+     *
+     * @return the index after the last digit, or -1 if {@code out} is too short
+     */
+    static int pad(int value, int minDigits, char zeroDigit, char[] out, int pos) {
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = pos + Math.max(digits, minDigits);
+        if (end > out.length) {
+            return -1;
+        }
+        for (int i = end - 1; i >= pos; i--) {
+            out[i] = (char) (zeroDigit + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    static int append(String name, char[] out, int pos) {
+        if (name == null || pos + name.length() > out.length) {
+            return -1;
+        }
+        name.getChars(0, name.length(), out, pos);
+        return pos + name.length();
+    }
+}
@@ -0,0 +1,148 @@
+package com.kxzhu.datehelper;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locale data used by {@link DatePattern}, loaded once per locale.
+ * <p>
+ * Month and AM/PM names are taken from the same {@link Calendar} display name styles {@link java.text.SimpleDateFormat}
+ * matches against and writes, so both parsers accept and both formatters produce exactly the same words.
+ */
+final class DateSymbols {
+
+    private static final ConcurrentHashMap<Locale, DateSymbols> CACHE = new ConcurrentHashMap<>();
+
+    final Locale locale;
+    /**
+     * false when the locale uses a non-Gregorian calendar or number format; every parse is then left to SimpleDateFormat
+     */
+    final boolean supported;
+
+    final String[] monthNames;
+    final int[] monthValues;
+    final NameTrie monthTrie;
+    final String[] amPmNames;
+    final int[] amPmValues;
+    final NameTrie amPmTrie;
+
+    /**
+     * names SimpleDateFormat writes for {@code MMM} and {@code a}, indexed by field value
+     */
+    final String[] shortMonths;
+    final String[] amPmStrings;
+    final char zeroDigit;
+
+    /**
+     * characters that make DecimalFormat read something other than plain ASCII digits
+     */
+    final char minusSign;
+    final char nanStart;
+    final char infinityStart;
+    final char exponentStart;
+
+    private DateSymbols(Locale locale) {
+        this.locale = locale;
+        Calendar calendar = Calendar.getInstance(locale);
+        NumberFormat numberFormat = NumberFormat.getIntegerInstance(locale);
+        supported = calendar.getClass() == GregorianCalendar.class && numberFormat instanceof DecimalFormat;
+
+        List<String> names = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        collect(calendar, locale, Calendar.MONTH, names, values, Calendar.SHORT_FORMAT, Calendar.LONG_FORMAT);
+        monthNames = names.toArray(new String[0]);
+        monthValues = toIntArray(values);
+        monthTrie = new NameTrie(monthNames);
+
+        names.clear();
+        values.clear();
+        collect(calendar, locale, Calendar.AM_PM, names, values,
+                Calendar.SHORT_FORMAT, Calendar.SHORT_STANDALONE, Calendar.LONG_FORMAT, Calendar.LONG_STANDALONE);
+        amPmNames = names.toArray(new String[0]);
+        amPmValues = toIntArray(values);
+        amPmTrie = new NameTrie(amPmNames);
+
+        shortMonths = displayNames(calendar, locale, Calendar.MONTH, 12);
+        amPmStrings = displayNames(calendar, locale, Calendar.AM_PM, 2);
+
+        DecimalFormatSymbols symbols = numberFormat instanceof DecimalFormat
+                ? ((DecimalFormat) numberFormat).getDecimalFormatSymbols()
+                : DecimalFormatSymbols.getInstance(locale);
+        minusSign = symbols.getMinusSign();
+        nanStart = firstChar(symbols.getNaN());
+        infinityStart = firstChar(symbols.getInfinity());
+        exponentStart = firstChar(symbols.getExponentSeparator());
+        zeroDigit = symbols.getZeroDigit();
+    }
+
+    static DateSymbols of(Locale locale) {
+        DateSymbols symbols = CACHE.get(locale);
+        if (symbols == null) {
+            symbols = new DateSymbols(locale);
+            DateSymbols raced = CACHE.putIfAbsent(locale, symbols);
+            if (raced != null) {
+                symbols = raced;
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * @return true if {@code c}, found where a number starts, could still be read as a number by DecimalFormat
+     */
+    boolean startsSpecialNumber(char c) {
+        return c >= 0x80 || c == '-' || c == '+' || c == minusSign || c == nanStart || c == infinityStart;
+    }
+
+    /**
+     * @return true if {@code c}, found right after a run of ASCII digits, could extend the number for DecimalFormat
+     */
+    boolean continuesNumber(char c) {
+        return c >= 0x80 || (c >= '0' && c <= '9') || c == exponentStart;
+    }
+
+    private static void collect(Calendar calendar, Locale locale, int field, List<String> names, List<Integer> values, int... styles) {
+        for (int style : styles) {
+            Map<String, Integer> map = calendar.getDisplayNames(field, style, locale);
+            if (map == null) {
+                continue;
+            }
+            for (Map.Entry<String, Integer> entry : map.entrySet()) {
+                if (!names.contains(entry.getKey())) {
+                    names.add(entry.getKey());
+                    values.add(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static String[] displayNames(Calendar calendar, Locale locale, int field, int count) {
+        String[] names = new String[count];
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        for (int value = 0; value < count; value++) {
+            calendar.set(field, value);
+            names[value] = calendar.getDisplayName(field, Calendar.SHORT, locale);
+        }
+        return names;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    private static char firstChar(String value) {
+        return value == null || value.isEmpty() ? '\uffff' : value.charAt(0);
+    }
+}
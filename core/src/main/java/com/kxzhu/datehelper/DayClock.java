@@ -0,0 +1,101 @@
+package com.kxzhu.datehelper;
+
+import java.util.TimeZone;
+
+/**
+ * Shared knowledge of where today starts and ends, in epoch millis.
+ * <p>
+ * The bounds of the current local day are computed once and then answer isToday checks and today/tomorrow/N-days
+ * lookups with long comparisons and {@link EpochCalendar} arithmetic, instead of building a {@link java.util.Calendar}
+ * per call. They are recomputed when the clock passes either bound, and when the default time zone is found to have
+ * changed; the zone is looked up at most once per {@link #ZONE_CHECK_MILLIS}, since {@link TimeZone#getDefault()}
+ * returns a fresh copy every time, so a read in between allocates nothing. {@link #reset()}, public as
+ * {@link DateHelper#onTimeZoneChanged()}, picks up a zone change immediately.
+ */
+final class DayClock {
+
+    static final long ZONE_CHECK_MILLIS = 1000;
+
+    private static final long NOON_MILLIS = EpochCalendar.DAY_MILLIS / 2;
+
+    private static volatile Day day = new Day(System.currentTimeMillis(), TimeZone.getDefault());
+    private static volatile long nextZoneCheck;
+
+    private DayClock() {
+    }
+
+    /**
+     * @return the current local day, rolled over if needed
+     */
+    static Day today() {
+        Day current = day;
+        long now = System.currentTimeMillis();
+        if (now < current.start || now >= current.end || now >= nextZoneCheck) {
+            current = refresh(current, now);
+        }
+        return current;
+    }
+
+    /**
+     * Forgets the cached day, so the next call re-reads the clock and default time zone.
+     */
+    static void reset() {
+        day = new Day(System.currentTimeMillis(), TimeZone.getDefault());
+        nextZoneCheck = 0;
+    }
+
+    private static Day refresh(Day current, long now) {
+        TimeZone zone = TimeZone.getDefault();
+        nextZoneCheck = now + ZONE_CHECK_MILLIS;
+        if (now >= current.start && now < current.end && sameZone(zone, current.zone)) {
+            return current;
+        }
+        current = new Day(now, zone);
+        day = current;
+        return current;
+    }
+
+    static boolean isToday(long time) {
+        Day current = today();
+        return time >= current.start && time < current.end;
+    }
+
+    /**
+     * @return an instant at local noon {@code days} days after today, safely inside that date whatever its DST changes
+     */
+    static long noon(int days) {
+        Day current = today();
+        return EpochCalendar.resolve((current.epochDay + days) * EpochCalendar.DAY_MILLIS + NOON_MILLIS, current.zone);
+    }
+
+    /**
+     * {@link TimeZone#getDefault()} hands out a copy, so the zone is matched by ID and, for custom zones reusing an ID,
+     * by rules
+     */
+    private static boolean sameZone(TimeZone zone, TimeZone cached) {
+        return zone.getID().equals(cached.getID()) && zone.hasSameRules(cached);
+    }
+
+    static final class Day {
+        /**
+         * first millisecond of the day
+         */
+        final long start;
+        /**
+         * first millisecond of the next day
+         */
+        final long end;
+        /**
+         * days since 1970-01-01 of the local date
+         */
+        final long epochDay;
+        final TimeZone zone;
+
+        Day(long now, TimeZone zone) {
+            this.zone = zone;
+            epochDay = EpochCalendar.epochDay(EpochCalendar.toLocal(now, zone));
+            start = EpochCalendar.resolve(epochDay * EpochCalendar.DAY_MILLIS, zone);
+            end = EpochCalendar.resolve((epochDay + 1) * EpochCalendar.DAY_MILLIS, zone);
+        }
+    }
+}
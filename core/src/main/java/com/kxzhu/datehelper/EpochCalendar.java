@@ -0,0 +1,129 @@
+package com.kxzhu.datehelper;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Integer calendar arithmetic on epoch days and epoch millis, used instead of {@link Calendar} for field math.
+ * <p>
+ * Dates are proleptic Gregorian. A date is packed into one long as {@code year << 16 | month << 8 | day} so conversions
+ * return it without allocating; use {@link #year(long)}, {@link #month(long)} and {@link #day(long)} to unpack. "Local"
+ * millis are wall-clock millis since 1970-01-01T00:00 in some zone, i.e. epoch millis plus that zone's offset.
+ */
+final class EpochCalendar {
+
+    static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * returned by {@link #toEpochMillis(long, TimeZone)} for wall times within a day of a zone transition
+     */
+    static final long UNRESOLVED = Long.MIN_VALUE;
+
+    private static final Date PROLEPTIC = new Date(Long.MIN_VALUE);
+
+    private EpochCalendar() {
+    }
+
+    /**
+     * @return days since 1970-01-01 of a date, {@code month} 1-12; days past the end of the month roll into the next
+     */
+    static long daysFromCivil(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Inverse of {@link #daysFromCivil(long, int, int)}.
+     *
+     * @return the packed date
+     */
+    static long civilFromDays(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 16 | month << 8 | day;
+    }
+
+    static int year(long civil) {
+        return (int) (civil >> 16);
+    }
+
+    /**
+     * @return 1-12
+     */
+    static int month(long civil) {
+        return (int) (civil >> 8) & 0xff;
+    }
+
+    static int day(long civil) {
+        return (int) civil & 0xff;
+    }
+
+    static long epochDay(long local) {
+        return Math.floorDiv(local, DAY_MILLIS);
+    }
+
+    static int millisOfDay(long local) {
+        return (int) Math.floorMod(local, DAY_MILLIS);
+    }
+
+    /**
+     * @return local millis for a date and time of day; out-of-range fields roll over, as with a lenient Calendar
+     */
+    static long toLocal(long year, int month, int day, long hour, long minute, long second) {
+        return daysFromCivil(year, month, day) * DAY_MILLIS + ((hour * 60 + minute) * 60 + second) * 1000;
+    }
+
+    /**
+     * @return local millis of {@code time} in {@code zone}, with the offset looked up in the zone's
+     *         {@link ZoneTransitions} table
+     */
+    static long toLocal(long time, TimeZone zone) {
+        return time + ZoneTransitions.offset(zone, time);
+    }
+
+    /**
+     * Maps a wall time back to epoch millis. Away from zone transitions a wall time has exactly one instant, found
+     * with the raw offset; within a day of one the answer depends on how gaps and overlaps are resolved.
+     *
+     * @return epoch millis, or {@link #UNRESOLVED} within a day of a transition
+     */
+    static long toEpochMillis(long local, TimeZone zone) {
+        long guess = local - zone.getRawOffset();
+        int offset = ZoneTransitions.of(zone).steadyOffset(guess - DAY_MILLIS, guess + DAY_MILLIS);
+        if (offset == ZoneTransitions.UNSTEADY) {
+            return UNRESOLVED;
+        }
+        return local - offset;
+    }
+
+    /**
+     * {@link #toEpochMillis(long, TimeZone)} that resolves wall times near a transition the way a lenient
+     * {@link GregorianCalendar} does, allocating one only in that case.
+     */
+    static long resolve(long local, TimeZone zone) {
+        long time = toEpochMillis(local, zone);
+        if (time != UNRESOLVED) {
+            return time;
+        }
+        GregorianCalendar calendar = new GregorianCalendar(zone);
+        calendar.setGregorianChange(PROLEPTIC);
+        calendar.clear();
+        long civil = civilFromDays(epochDay(local));
+        calendar.set(year(civil), month(civil) - 1, day(civil));
+        calendar.set(Calendar.MILLISECOND, millisOfDay(local));
+        return calendar.getTimeInMillis();
+    }
+}
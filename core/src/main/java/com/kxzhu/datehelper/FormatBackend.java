@@ -0,0 +1,27 @@
+package com.kxzhu.datehelper;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * The formatting and parsing engine behind {@link DateHelper}'s static methods, chosen with
+ * {@link DateHelper#setBackend(DateHelper.Backend)}.
+ * <p>
+ * Implementations must be safe to call from any thread.
+ */
+interface FormatBackend {
+
+    /**
+     * Formats {@code time} as seen in {@code zone} into the calling thread's {@link FormatterCache#chars()} buffer.
+     *
+     * @return the number of chars written
+     */
+    int format(DatePattern pattern, long time, Locale locale, TimeZone zone);
+
+    /**
+     * Parses {@code text[start, end)} as a wall time in {@code zone} and reports the outcome in {@code result}, never as
+     * {@code UNSUPPORTED}; indexes in {@code result} are relative to {@code text}.
+     */
+    void parse(CharSequence text, int start, int end, DatePattern pattern, DateSymbols symbols, TimeZone zone,
+               DateParseResult result);
+}
@@ -0,0 +1,124 @@
+package com.kxzhu.datehelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Narrows {@link DateHelper.DateFormats} down to the constants whose shape matches a piece of text, so
+ * {@link DateHelper#parseAnyDate(String)} only has to parse one or two candidates instead of all of them.
+ * <p>
+ * A shape is the sequence of digit runs (with their width), letter runs (month names, AM/PM markers) and separator
+ * characters. Each pattern's shape is hashed once; the input's shape is hashed in a single pass without allocating and
+ * looked up with a binary search. A pattern field matches a digit run of exactly its own width, so {@code yy} and
+ * {@code yyyy} never share a shape.
+ * <p>
+ * Candidates are returned in declaration order. That order is the tie-breaker for genuinely ambiguous input: for
+ * {@code "14/04/25"} both {@code yy/MM/dd} and {@code dd/MM/yy} fit, and {@link DateHelper.DateFormats#S_YYMMDD},
+ * declared first, wins.
+ */
+final class FormatDetector {
+
+    private static final DateHelper.DateFormats[] NONE = new DateHelper.DateFormats[0];
+
+    private static final int DIGITS = 1 << 16;
+    private static final int LETTERS = 2 << 16;
+
+    private static final long[] SHAPES;
+    private static final DateHelper.DateFormats[][] CANDIDATES;
+
+    static {
+        Map<Long, List<DateHelper.DateFormats>> byShape = new LinkedHashMap<>();
+        for (DateHelper.DateFormats format : DateHelper.DateFormats.values()) {
+            Long shape = patternShape(format.getDateFormat());
+            List<DateHelper.DateFormats> formats = byShape.get(shape);
+            if (formats == null) {
+                formats = new ArrayList<>();
+                byShape.put(shape, formats);
+            }
+            formats.add(format);
+        }
+        long[] shapes = new long[byShape.size()];
+        int i = 0;
+        for (Long shape : byShape.keySet()) {
+            shapes[i++] = shape;
+        }
+        Arrays.sort(shapes);
+        CANDIDATES = new DateHelper.DateFormats[shapes.length][];
+        for (i = 0; i < shapes.length; i++) {
+            CANDIDATES[i] = byShape.get(shapes[i]).toArray(NONE);
+        }
+        SHAPES = shapes;
+    }
+
+    private FormatDetector() {
+    }
+
+    /**
+     * @return the constants whose shape matches {@code text[start, end)} exactly, in declaration order; never null and
+     * not to be modified
+     */
+    static DateHelper.DateFormats[] candidates(CharSequence text, int start, int end) {
+        int index = Arrays.binarySearch(SHAPES, textShape(text, start, end));
+        return index >= 0 ? CANDIDATES[index] : NONE;
+    }
+
+    static long textShape(CharSequence text, int start, int end) {
+        long shape = 1;
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            int run = i + 1;
+            if (c >= '0' && c <= '9') {
+                while (run < end && text.charAt(run) >= '0' && text.charAt(run) <= '9') {
+                    run++;
+                }
+                shape = mix(shape, DIGITS | (run - i));
+            } else if (Character.isLetter(c)) {
+                while (run < end && Character.isLetter(text.charAt(run))) {
+                    run++;
+                }
+                shape = mix(shape, LETTERS);
+            } else {
+                shape = mix(shape, c);
+            }
+            i = run;
+        }
+        return shape;
+    }
+
+    static long patternShape(String pattern) {
+        long shape = 1;
+        boolean inLetters = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = i + 1;
+            while (run < pattern.length() && pattern.charAt(run) == c) {
+                run++;
+            }
+            boolean text = c == 'a' || (c == 'M' && run - i >= 3);
+            if (text) {
+                // adjacent text fields read as one letter run
+                if (!inLetters) {
+                    shape = mix(shape, LETTERS);
+                }
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                shape = mix(shape, DIGITS | (run - i));
+            } else {
+                for (int literal = i; literal < run; literal++) {
+                    shape = mix(shape, c);
+                }
+            }
+            inLetters = text;
+            i = run;
+        }
+        return shape;
+    }
+
+    private static long mix(long shape, int token) {
+        return (shape ^ token) * 0x100000001b3L + 0x9e3779b97f4a7c15L;
+    }
+}
@@ -0,0 +1,192 @@
+package com.kxzhu.datehelper;
+
+import java.text.FieldPosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Per-thread cache of compiled {@link SimpleDateFormat} instances.
+ * <p>
+ * {@link SimpleDateFormat} is mutable and not thread-safe, so instead of sharing one instance behind a lock every thread
+ * keeps its own set, keyed by pattern plus locale and time zone. A thread only ever touches its own formatters, which
+ * makes the cache safe under any amount of concurrency without contention.
+ * <p>
+ * Each thread keeps the formatters of at most {@link #MAX_SLOTS} locale and zone combinations, most recently used first,
+ * and drops the least recently used one to make room. The default-zone lookups take the zone from {@link DayClock}, so
+ * a {@link TimeZone#setDefault(TimeZone)} is picked up within {@link DayClock#ZONE_CHECK_MILLIS}, or by the next call
+ * after {@link DateHelper#onTimeZoneChanged()}, and a {@link Locale#setDefault(Locale)} by the next call; the
+ * combination of the old defaults is dropped then rather than waiting to age out. The two-digit-year window is
+ * exposed to {@link DatePattern} so that both parsers agree.
+ * <p>
+ * Each thread also owns the scratch buffer the allocation-free formatting overloads render into.
+ */
+final class FormatterCache {
+
+    static final int MAX_SLOTS = 16;
+
+    private static final ThreadLocal<FormatterCache> LOCAL = new ThreadLocal<FormatterCache>() {
+        @Override
+        protected FormatterCache initialValue() {
+            return new FormatterCache();
+        }
+    };
+
+    /**
+     * most recently used first; a linear scan beats hashing a composite key at this size and allocates nothing
+     */
+    private final Slot[] slots = new Slot[MAX_SLOTS];
+    private int slotCount;
+    private Locale defaultLocale;
+    private TimeZone defaultZone;
+    private final int centuryStartYear;
+
+    private char[] chars = new char[64];
+    private final Date date = new Date(0);
+    private final StringBuffer buffer = new StringBuffer();
+    private final FieldPosition position = new FieldPosition(0);
+
+    private FormatterCache() {
+        // same window SimpleDateFormat uses for two-digit years: 80 years back, 20 years ahead
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, -80);
+        centuryStartYear = calendar.get(Calendar.YEAR);
+    }
+
+    /**
+     * @return the calling thread's formatter for {@code pattern} in {@code locale} and the current default time zone
+     */
+    static SimpleDateFormat get(String pattern, Locale locale) {
+        return get(pattern, locale, DayClock.today().zone);
+    }
+
+    static SimpleDateFormat get(String pattern, Locale locale, TimeZone zone) {
+        Slot slot = LOCAL.get().slot(locale, zone);
+        SimpleDateFormat formatter = slot.byPattern.get(pattern);
+        if (formatter == null) {
+            formatter = slot.create(pattern);
+            slot.byPattern.put(pattern, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * @return the first year of the calling thread's two-digit-year window
+     */
+    static int centuryStartYear() {
+        return LOCAL.get().centuryStartYear;
+    }
+
+    /**
+     * Formats {@code time} into the calling thread's {@link #chars()} buffer, with {@link DatePattern} when it can and with
+     * the cached SimpleDateFormat otherwise, so the output is the same either way and nothing is allocated.
+     *
+     * @return the number of chars written
+     */
+    static int format(DatePattern pattern, long time, Locale locale, TimeZone zone) {
+        FormatterCache cache = LOCAL.get();
+        int length = pattern.format(time, zone, DateSymbols.of(locale), cache.chars);
+        if (length >= 0) {
+            return length;
+        }
+        cache.date.setTime(time);
+        cache.buffer.setLength(0);
+        get(pattern.pattern(), locale, zone).format(cache.date, cache.buffer, cache.position);
+        return cache.fill(cache.buffer);
+    }
+
+    /**
+     * Copies {@code text} into the calling thread's {@link #chars()} buffer, for formatters that write to their own buffer.
+     *
+     * @return the number of chars copied
+     */
+    static int copy(CharSequence text) {
+        return LOCAL.get().fill(text);
+    }
+
+    /**
+     * @return the calling thread's buffer last written by {@link #format(DatePattern, long, Locale, TimeZone)}
+     */
+    static char[] chars() {
+        return LOCAL.get().chars;
+    }
+
+    private int fill(CharSequence text) {
+        int length = text.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return length;
+    }
+
+    private Slot slot(Locale locale, TimeZone zone) {
+        Slot slot = slots[0];
+        if (slot != null && slot.matches(locale, zone)) {
+            return slot;
+        }
+        dropStaleDefaults();
+        for (int i = 0; i < slotCount; i++) {
+            slot = slots[i];
+            if (slot.matches(locale, zone)) {
+                System.arraycopy(slots, 0, slots, 1, i);
+                slots[0] = slot;
+                return slot;
+            }
+        }
+        slot = new Slot(locale, zone);
+        if (slotCount < MAX_SLOTS) {
+            slotCount++;
+        }
+        System.arraycopy(slots, 0, slots, 1, slotCount - 1);
+        slots[0] = slot;
+        return slot;
+    }
+
+    private void dropStaleDefaults() {
+        Locale locale = Locale.getDefault();
+        TimeZone zone = DayClock.today().zone;
+        if (defaultLocale != null && (!defaultLocale.equals(locale) || !Slot.sameZone(defaultZone, zone))) {
+            for (int i = 0; i < slotCount; i++) {
+                if (slots[i].matches(defaultLocale, defaultZone)) {
+                    System.arraycopy(slots, i + 1, slots, i, slotCount - i - 1);
+                    slots[--slotCount] = null;
+                    break;
+                }
+            }
+        }
+        defaultLocale = locale;
+        defaultZone = zone;
+    }
+
+    private static final class Slot {
+        final Locale locale;
+        final TimeZone zone;
+        final Map<String, SimpleDateFormat> byPattern = new HashMap<>();
+
+        Slot(Locale locale, TimeZone zone) {
+            this.locale = locale;
+            this.zone = zone;
+        }
+
+        boolean matches(Locale locale, TimeZone zone) {
+            return this.locale.equals(locale) && sameZone(this.zone, zone);
+        }
+
+        SimpleDateFormat create(String pattern) {
+            SimpleDateFormat formatter = new SimpleDateFormat(pattern, locale);
+            formatter.setTimeZone(zone);
+            return formatter;
+        }
+
+        static boolean sameZone(TimeZone a, TimeZone b) {
+            return a == b || (a.getID().equals(b.getID()) && a.hasSameRules(b));
+        }
+    }
+}
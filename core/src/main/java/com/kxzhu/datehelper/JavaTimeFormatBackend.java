@@ -0,0 +1,266 @@
+package com.kxzhu.datehelper;
+
+import java.text.ParsePosition;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link FormatBackend} built on immutable {@link DateTimeFormatter}s, one per {@link DateHelper.DateFormats} constant,
+ * created up front and shared by every thread.
+ * <p>
+ * Parsing is case-insensitive and lenient about digit counts like SimpleDateFormat, and out-of-range fields roll over.
+ * Month names must be given in full or in short form and AM/PM markers whole, as SimpleDateFormat requires. Wall times
+ * are mapped to instants with {@link TimeZone}'s rules through {@link EpochCalendar}, like the default backend, rather
+ * than with java.time's zone history. Dates before {@link #MIN_YEAR}, where SimpleDateFormat switches to the Julian
+ * calendar, and two-digit years in the first year of the century window, which SimpleDateFormat places by the exact
+ * instant 80 years back, are handed to {@link SimpleDateFormatBackend}. What remains different is listed on
+ * {@link DateHelper.Backend#JAVA_TIME}. On Android below API 26 this needs core library desugaring.
+ */
+final class JavaTimeFormatBackend implements FormatBackend {
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(32);
+        }
+    };
+
+    private static final ThreadLocal<ParsePosition> POSITION = new ThreadLocal<ParsePosition>() {
+        @Override
+        protected ParsePosition initialValue() {
+            return new ParsePosition(0);
+        }
+    };
+
+    private static final ThreadLocal<Prefix> PREFIX = new ThreadLocal<Prefix>() {
+        @Override
+        protected Prefix initialValue() {
+            return new Prefix();
+        }
+    };
+
+    /**
+     * same bound as {@link DatePattern}'s, well clear of the 1582 Gregorian cutover
+     */
+    private static final int MIN_YEAR = 1600;
+
+    private static final long MIN_EPOCH_DAY = EpochCalendar.daysFromCivil(MIN_YEAR, 1, 1);
+
+    private final ConcurrentHashMap<DatePattern, DateTimeFormatter> printers = new ConcurrentHashMap<>();
+    /**
+     * separate from {@link #printers} because a name field parses either form but prints only one
+     */
+    private final ConcurrentHashMap<DatePattern, DateTimeFormatter> parsers = new ConcurrentHashMap<>();
+    private final int centuryStartYear = FormatterCache.centuryStartYear();
+    private final SimpleDateFormatBackend fallback = new SimpleDateFormatBackend();
+
+    JavaTimeFormatBackend() {
+        for (DateHelper.DateFormats format : DateHelper.DateFormats.values()) {
+            DatePattern pattern = DatePattern.of(format);
+            printers.put(pattern, build(pattern.pattern(), false));
+            parsers.put(pattern, build(pattern.pattern(), true));
+        }
+    }
+
+    @Override
+    public int format(DatePattern pattern, long time, Locale locale, TimeZone zone) {
+        long local = EpochCalendar.toLocal(time, zone);
+        if (EpochCalendar.epochDay(local) < MIN_EPOCH_DAY) {
+            return fallback.format(pattern, time, locale, zone);
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(local, 1000), 0, ZoneOffset.UTC);
+        formatter(printers, pattern, locale).formatTo(dateTime, buffer);
+        return FormatterCache.copy(buffer);
+    }
+
+    @Override
+    public void parse(CharSequence text, int start, int end, DatePattern pattern, DateSymbols symbols, TimeZone zone,
+                      DateParseResult result) {
+        ParsePosition position = POSITION.get();
+        position.setIndex(start);
+        position.setErrorIndex(-1);
+        CharSequence input = end == text.length() ? text : PREFIX.get().reset(text, end);
+        TemporalAccessor parsed = formatter(parsers, pattern, symbols.locale).parseUnresolved(input, position);
+        if (parsed == null) {
+            int errorIndex = position.getErrorIndex();
+            result.fail(errorIndex >= end ? DateParseResult.ERROR_END_OF_INPUT : DateParseResult.ERROR_MISMATCH,
+                    errorIndex);
+            return;
+        }
+        if (!parsed.isSupported(ChronoField.MONTH_OF_YEAR) && pattern.pattern().indexOf('M') >= 0) {
+            // neither the full nor the short month name matched
+            result.fail(DateParseResult.ERROR_MISMATCH, start);
+            return;
+        }
+        long year = field(parsed, ChronoField.YEAR, 1970);
+        if (year < MIN_YEAR || (year == centuryStartYear && twoDigitYear(pattern.pattern()))) {
+            fallback.parse(text, start, end, pattern, symbols, zone, result);
+            return;
+        }
+        long hour;
+        if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+            hour = parsed.getLong(ChronoField.HOUR_OF_DAY);
+        } else {
+            hour = field(parsed, ChronoField.CLOCK_HOUR_OF_AMPM, 0) % 12 + 12 * field(parsed, ChronoField.AMPM_OF_DAY, 0);
+        }
+        long month = field(parsed, ChronoField.MONTH_OF_YEAR, 1) - 1;
+        long local = EpochCalendar.toLocal(year + Math.floorDiv(month, 12), (int) Math.floorMod(month, 12) + 1,
+                (int) field(parsed, ChronoField.DAY_OF_MONTH, 1), hour, field(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+                field(parsed, ChronoField.SECOND_OF_MINUTE, 0));
+        if (EpochCalendar.epochDay(local) < MIN_EPOCH_DAY) {
+            // fields rolled back across the bound, e.g. month 0 of 1600
+            fallback.parse(text, start, end, pattern, symbols, zone, result);
+            return;
+        }
+        result.success(EpochCalendar.resolve(local, zone), position.getIndex());
+    }
+
+    private DateTimeFormatter formatter(ConcurrentHashMap<DatePattern, DateTimeFormatter> formatters,
+                                        DatePattern pattern, Locale locale) {
+        DateTimeFormatter formatter = formatters.get(pattern);
+        if (formatter == null) {
+            // DateHelper's own fixed patterns; DateFormats constants are built in the constructor
+            formatter = build(pattern.pattern(), formatters == parsers);
+            DateTimeFormatter raced = formatters.putIfAbsent(pattern, formatter);
+            if (raced != null) {
+                formatter = raced;
+            }
+        }
+        return formatter.withLocale(locale);
+    }
+
+    private DateTimeFormatter build(String pattern, boolean parsing) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            switch (c) {
+                case 'y':
+                    if (run == 2) {
+                        // the year-based part of SimpleDateFormat's window; its first year goes to the fallback
+                        builder.appendValueReduced(ChronoField.YEAR, 2, 2, centuryStartYear);
+                    } else {
+                        builder.appendValue(ChronoField.YEAR, run, 10, SignStyle.NOT_NEGATIVE);
+                    }
+                    break;
+                case 'M':
+                    if (run >= 3 && !parsing) {
+                        builder.appendText(ChronoField.MONTH_OF_YEAR, run == 3 ? TextStyle.SHORT : TextStyle.FULL);
+                    } else if (run >= 3) {
+                        // full or short, like SimpleDateFormat; lenient text would also take narrow names like "A"
+                        builder.parseStrict()
+                                .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL).optionalEnd()
+                                .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.SHORT).optionalEnd()
+                                .parseLenient();
+                    } else {
+                        builder.appendValue(ChronoField.MONTH_OF_YEAR, run, 9, SignStyle.NOT_NEGATIVE);
+                    }
+                    break;
+                case 'd':
+                    builder.appendValue(ChronoField.DAY_OF_MONTH, run, 9, SignStyle.NOT_NEGATIVE);
+                    break;
+                case 'h':
+                    builder.appendValue(ChronoField.CLOCK_HOUR_OF_AMPM, run, 9, SignStyle.NOT_NEGATIVE);
+                    break;
+                case 'H':
+                    builder.appendValue(ChronoField.HOUR_OF_DAY, run, 9, SignStyle.NOT_NEGATIVE);
+                    break;
+                case 'm':
+                    builder.appendValue(ChronoField.MINUTE_OF_HOUR, run, 9, SignStyle.NOT_NEGATIVE);
+                    break;
+                case 's':
+                    builder.appendValue(ChronoField.SECOND_OF_MINUTE, run, 9, SignStyle.NOT_NEGATIVE);
+                    break;
+                case 'a':
+                    // strict, so a lone "P" is not read as PM
+                    builder.parseStrict().appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT).parseLenient();
+                    break;
+                default:
+                    if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '\'') {
+                        throw new IllegalArgumentException("Unsupported pattern letter '" + c + "' in " + pattern);
+                    }
+                    for (int k = 0; k < run; k++) {
+                        builder.appendLiteral(c);
+                    }
+                    break;
+            }
+            i += run;
+        }
+        return builder.toFormatter(Locale.getDefault());
+    }
+
+    private static long field(TemporalAccessor parsed, ChronoField field, long fallback) {
+        return parsed.isSupported(field) ? parsed.getLong(field) : fallback;
+    }
+
+    /**
+     * @return whether the year field is {@code yy}, the only one read through the two-digit-year window
+     */
+    static boolean twoDigitYear(String pattern) {
+        int i = pattern.indexOf('y');
+        if (i < 0) {
+            return false;
+        }
+        int run = 1;
+        while (i + run < pattern.length() && pattern.charAt(i + run) == 'y') {
+            run++;
+        }
+        return run == 2;
+    }
+
+    /**
+     * Reusable view of {@code text[0, end)}, so a range that stops before the end of the text is parsed without
+     * copying it; java.time reads only {@link #length()} and {@link #charAt(int)} of it.
+     */
+    private static final class Prefix implements CharSequence {
+        private CharSequence text;
+        private int end;
+
+        Prefix reset(CharSequence text, int end) {
+            this.text = text;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= end) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + end);
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (end > this.end) {
+                throw new IndexOutOfBoundsException("end " + end + ", length " + this.end);
+            }
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text.subSequence(0, end).toString();
+        }
+    }
+}
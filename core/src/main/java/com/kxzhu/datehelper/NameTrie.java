@@ -0,0 +1,138 @@
+package com.kxzhu.datehelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case-insensitive trie over a locale's month or AM/PM names, finding the longest name at a position in one pass over
+ * the text instead of comparing every name in turn.
+ * <p>
+ * Characters are folded the way SimpleDateFormat's matchString compares them ({@code toLowerCase(toUpperCase(c))}), so
+ * "apr", "APR" and "Apr" reach the same node and the result is always the one the linear scan would give: the longest
+ * matching name, the first of equally long ones. The trie is flattened into arrays; a node's children are a contiguous,
+ * label-sorted run, found by binary search.
+ */
+final class NameTrie {
+
+    /**
+     * per node: first child and child count in the node arrays, and the index of the name ending here or -1
+     */
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] nameIndex;
+    /**
+     * per node: folded character on the edge into it
+     */
+    private final char[] labels;
+
+    NameTrie(String[] names) {
+        Node root = new Node('\0');
+        for (int i = 0; i < names.length; i++) {
+            Node node = root;
+            String name = names[i];
+            for (int k = 0; k < name.length(); k++) {
+                node = node.child(fold(name.charAt(k)));
+            }
+            if (node.nameIndex < 0) {
+                node.nameIndex = i;
+            }
+        }
+
+        // breadth-first, so each node's children are numbered consecutively
+        List<Node> order = new ArrayList<>();
+        order.add(root);
+        for (int i = 0; i < order.size(); i++) {
+            order.get(i).sortChildren();
+            order.addAll(order.get(i).children);
+        }
+        int size = order.size();
+        firstChild = new int[size];
+        childCount = new int[size];
+        nameIndex = new int[size];
+        labels = new char[size];
+        int next = 1;
+        for (int i = 0; i < size; i++) {
+            Node node = order.get(i);
+            firstChild[i] = next;
+            childCount[i] = node.children.size();
+            nameIndex[i] = node.nameIndex;
+            labels[i] = node.label;
+            next += node.children.size();
+        }
+    }
+
+    /**
+     * @return the index of the longest name matching {@code text} at {@code start}, or -1
+     */
+    int match(CharSequence text, int start, int end) {
+        int node = 0;
+        int best = -1;
+        for (int pos = start; pos < end; pos++) {
+            node = child(node, fold(text.charAt(pos)));
+            if (node < 0) {
+                break;
+            }
+            if (nameIndex[node] >= 0) {
+                best = nameIndex[node];
+            }
+        }
+        return best;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char c = labels[middle];
+            if (c < label) {
+                low = middle + 1;
+            } else if (c > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Node {
+        final char label;
+        final List<Node> children = new ArrayList<>(2);
+        int nameIndex = -1;
+
+        Node(char label) {
+            this.label = label;
+        }
+
+        Node child(char label) {
+            for (Node child : children) {
+                if (child.label == label) {
+                    return child;
+                }
+            }
+            Node child = new Node(label);
+            children.add(child);
+            return child;
+        }
+
+        void sortChildren() {
+            for (int i = 1; i < children.size(); i++) {
+                Node node = children.get(i);
+                int k = i - 1;
+                while (k >= 0 && children.get(k).label > node.label) {
+                    children.set(k + 1, children.get(k));
+                    k--;
+                }
+                children.set(k + 1, node);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.kxzhu.datehelper;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of {@link DateHelper#prettifyDate(long)} results, keyed by minute.
+ * <p>
+ * prettifyDate only renders to the minute, so every timestamp within a minute maps to the same string. Entries live in a
+ * fixed-size table indexed by a hash of the minute and the today/not-today variant; a colliding minute simply replaces
+ * the older entry, which keeps the cache bounded without any locking. The whole table is dropped when {@link DayClock}
+ * rolls over to a new day or time zone, or the default locale changes, so no "hh:mm a" entry outlives the day it was
+ * rendered on.
+ */
+public final class PrettifyCache {
+
+    static final int CAPACITY = 4096;
+
+    private static final long MINUTE_MILLIS = 60 * 1000;
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static volatile Generation generation = new Generation(DayClock.today(), Locale.getDefault());
+
+    private PrettifyCache() {
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public static long hitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to render the date
+     */
+    public static long missCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Drops every cached string and resets the hit and miss counts.
+     */
+    public static void clear() {
+        generation = new Generation(DayClock.today(), Locale.getDefault());
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /**
+     * @return the cached rendering of {@code timestamp}'s minute in the given variant, or null on a miss
+     */
+    static String get(long timestamp, boolean today) {
+        Generation current = current();
+        long minute = Math.floorDiv(timestamp, MINUTE_MILLIS);
+        Entry entry = current.entries.get(index(minute, today));
+        if (entry != null && entry.minute == minute && entry.today == today && current.cacheable(timestamp)) {
+            HITS.increment();
+            return entry.text;
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    static void put(long timestamp, boolean today, String text) {
+        Generation current = current();
+        if (current.cacheable(timestamp)) {
+            long minute = Math.floorDiv(timestamp, MINUTE_MILLIS);
+            current.entries.set(index(minute, today), new Entry(minute, today, text));
+        }
+    }
+
+    private static Generation current() {
+        Generation current = generation;
+        DayClock.Day day = DayClock.today();
+        Locale locale = Locale.getDefault();
+        if (current.day != day || !current.locale.equals(locale)) {
+            current = new Generation(day, locale);
+            generation = current;
+        }
+        return current;
+    }
+
+    private static int index(long minute, boolean today) {
+        long key = minute * 2 + (today ? 1 : 0);
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key >>> 52) & (CAPACITY - 1);
+    }
+
+    private static final class Generation {
+        final DayClock.Day day;
+        final Locale locale;
+        final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(CAPACITY);
+
+        Generation(DayClock.Day day, Locale locale) {
+            this.day = day;
+            this.locale = locale;
+        }
+
+        /**
+         * Historic offsets such as local mean time are not whole minutes, so a UTC minute can straddle two local ones.
+         */
+        boolean cacheable(long timestamp) {
+            return ZoneTransitions.offset(day.zone, timestamp) % MINUTE_MILLIS == 0;
+        }
+    }
+
+    private static final class Entry {
+        final long minute;
+        final boolean today;
+        final String text;
+
+        Entry(long minute, boolean today, String text) {
+            this.minute = minute;
+            this.today = today;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.kxzhu.datehelper;
+
+import java.text.ParsePosition;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * {@link FormatBackend} with {@link java.text.SimpleDateFormat}'s lenient semantics, the default.
+ * <p>
+ * {@link DatePattern} handles almost every call without allocating; the rare inputs it reports as unsupported go through
+ * the calling thread's cached SimpleDateFormat, so results are the same as SimpleDateFormat's either way.
+ */
+final class SimpleDateFormatBackend implements FormatBackend {
+
+    @Override
+    public int format(DatePattern pattern, long time, Locale locale, TimeZone zone) {
+        return FormatterCache.format(pattern, time, locale, zone);
+    }
+
+    @Override
+    public void parse(CharSequence text, int start, int end, DatePattern pattern, DateSymbols symbols, TimeZone zone,
+                      DateParseResult result) {
+        pattern.parse(text, start, end, symbols, zone, FormatterCache.centuryStartYear(), result);
+        if (result.status == DateParseResult.UNSUPPORTED) {
+            // rare lenient corner cases go through SimpleDateFormat, which still never throws here
+            String date = text.subSequence(start, end).toString();
+            ParsePosition position = new ParsePosition(0);
+            Date parsed = FormatterCache.get(pattern.pattern(), symbols.locale, zone).parse(date, position);
+            if (parsed != null) {
+                result.success(parsed.getTime(), start + position.getIndex());
+            } else {
+                int errorIndex = position.getErrorIndex();
+                result.fail(errorIndex >= date.length()
+                        ? DateParseResult.ERROR_END_OF_INPUT : DateParseResult.ERROR_MISMATCH, start + errorIndex);
+            }
+        }
+    }
+}
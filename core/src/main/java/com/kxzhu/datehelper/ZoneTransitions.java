@@ -0,0 +1,314 @@
+package com.kxzhu.datehelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed UTC offset transitions of a time zone, used instead of {@link TimeZone#getOffset(long)} to turn epoch
+ * millis into local time.
+ * <p>
+ * A table covers the years set with {@link #setYearRange(int, int)}, 1900 through 2100 by default, in chunks of
+ * {@link #CHUNK_YEARS} years. A chunk is built the first time an instant in it is looked up: the zone's own
+ * {@link TimeZone#getOffset(long)} is sampled every {@link #STEP_MILLIS} and each change is narrowed down to the exact
+ * millisecond, so the table answers exactly what the zone would, DST included, for any zone whose offset does not
+ * change and change back within one step. Only the decades actually used are sampled: the first lookup for a zone
+ * builds one chunk, one of 21 in the default range, which keeps it cheap enough for a UI thread. A lookup is then a
+ * binary search over the transition instants of its chunk; instants outside the range are passed to the zone itself.
+ * Each transition costs one long plus one byte indexing the chunk's few distinct offsets, a few kilobytes for the
+ * busiest zones.
+ * <p>
+ * Tables are shared by all threads and looked up by zone ID; passing the same {@link TimeZone} instance each time, as
+ * {@link DayClock} does, skips the check that an equal-ID zone has the same rules. A custom zone reusing a known ID
+ * gets a table of its own, kept until a zone with other rules claims that ID.
+ */
+public final class ZoneTransitions {
+
+    static final long STEP_MILLIS = 6 * 60 * 60 * 1000L;
+    static final int CHUNK_YEARS = 10;
+
+    /**
+     * returned by {@link #steadyOffset(long, long)} when the offset changes in the range; no zone has this offset
+     */
+    static final int UNSTEADY = Integer.MIN_VALUE;
+
+    private static final ConcurrentHashMap<String, ZoneTransitions> CACHE = new ConcurrentHashMap<>();
+    /**
+     * the latest custom zone seen for each ID whose rules differ from the system zone's
+     */
+    private static final ConcurrentHashMap<String, ZoneTransitions> CUSTOM = new ConcurrentHashMap<>();
+
+    private static volatile int firstYear = 1900;
+    private static volatile int lastYear = 2100;
+    private static volatile ZoneTransitions last;
+
+    /**
+     * the instance the table was requested for, and a private copy of it to compute with
+     */
+    private final TimeZone source;
+    private final TimeZone zone;
+    /**
+     * {@code bounds[i]} to {@code bounds[i + 1]} is the span of chunk {@code i} in epoch millis; the first and last add
+     * a day of margin so every local time in the covered years maps to an instant inside
+     */
+    private final long[] bounds;
+    private final AtomicReferenceArray<Chunk> chunks;
+
+    private ZoneTransitions(TimeZone source, int firstYear, int lastYear) {
+        this.source = source;
+        zone = (TimeZone) source.clone();
+        int count = (lastYear - firstYear) / CHUNK_YEARS + 1;
+        bounds = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            bounds[i] = EpochCalendar.daysFromCivil(firstYear + i * CHUNK_YEARS, 1, 1) * EpochCalendar.DAY_MILLIS;
+        }
+        bounds[0] -= EpochCalendar.DAY_MILLIS;
+        bounds[count] = (EpochCalendar.daysFromCivil(lastYear + 1, 1, 1) + 1) * EpochCalendar.DAY_MILLIS;
+        chunks = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * Sets the years, inclusive, covered by the tables and drops the ones built so far. Wider ranges cost more memory
+     * per zone as more years are used; instants outside the range still work, at the cost of a {@link TimeZone} lookup
+     * each.
+     */
+    public static void setYearRange(int firstYear, int lastYear) {
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("firstYear " + firstYear + " > lastYear " + lastYear);
+        }
+        ZoneTransitions.firstYear = firstYear;
+        ZoneTransitions.lastYear = lastYear;
+        clear();
+    }
+
+    /**
+     * Drops every table, e.g. after time zone data was updated.
+     */
+    public static void clear() {
+        CACHE.clear();
+        CUSTOM.clear();
+        last = null;
+    }
+
+    /**
+     * @return the table for {@code zone}; its chunks are built as they are first used
+     */
+    static ZoneTransitions of(TimeZone zone) {
+        ZoneTransitions table = last;
+        if (table != null && table.source == zone) {
+            return table;
+        }
+        String id = zone.getID();
+        table = CACHE.get(id);
+        if (table == null) {
+            ZoneTransitions created = new ZoneTransitions(zone, firstYear, lastYear);
+            ZoneTransitions raced = CACHE.putIfAbsent(id, created);
+            table = raced != null ? raced : created;
+        }
+        if (table.source != zone && !table.zone.hasSameRules(zone)) {
+            // a custom zone reusing a known ID
+            table = CUSTOM.get(id);
+            if (table == null || (table.source != zone && !table.zone.hasSameRules(zone))) {
+                table = new ZoneTransitions(zone, firstYear, lastYear);
+                CUSTOM.put(id, table);
+            }
+        }
+        last = table;
+        return table;
+    }
+
+    /**
+     * @return what {@code zone.getOffset(time)} returns
+     */
+    static int offset(TimeZone zone, long time) {
+        return of(zone).offset(time);
+    }
+
+    /**
+     * @return the zone's offset from UTC at {@code time}, in millis
+     */
+    int offset(long time) {
+        int c = chunkIndex(time);
+        if (c < 0) {
+            return zone.getOffset(time);
+        }
+        Chunk chunk = chunk(c);
+        if (chunk.transitions.length == 0) {
+            return zone.getOffset(time);
+        }
+        return chunk.offsetAt(chunk.find(time));
+    }
+
+    /**
+     * @return the zone's offset throughout {@code [from, to]}, or {@link #UNSTEADY} if it changes there; one search
+     *         instead of a lookup per instant
+     */
+    int steadyOffset(long from, long to) {
+        int first = chunkIndex(from);
+        int second = chunkIndex(to);
+        Chunk chunk = first < 0 ? null : chunk(first);
+        Chunk next = second < 0 ? null : second == first ? chunk : chunk(second);
+        if (chunk == null || next == null || chunk.transitions.length == 0 || next.transitions.length == 0) {
+            int offset = zone.getOffset(from);
+            return zone.getOffset(from + (to - from) / 2) == offset && zone.getOffset(to) == offset ? offset : UNSTEADY;
+        }
+        int i = chunk.find(from);
+        int offset = chunk.offsetAt(i);
+        if (next == chunk) {
+            return i + 1 < chunk.transitions.length && chunk.transitions[i + 1] <= to ? UNSTEADY : offset;
+        }
+        // the range crosses into the following chunk, which must start on the same offset and not change before to
+        if (i + 1 < chunk.transitions.length || next.offsetAt(0) != offset || next.find(to) > 0) {
+            return UNSTEADY;
+        }
+        return offset;
+    }
+
+    /**
+     * @return the number of offset changes in the covered range, building every chunk
+     */
+    int transitionCount() {
+        int count = 0;
+        int previous = UNSTEADY;
+        for (int c = 0; c < chunks.length(); c++) {
+            Chunk chunk = chunk(c);
+            if (chunk.transitions.length == 0) {
+                previous = UNSTEADY;
+                continue;
+            }
+            count += chunk.transitions.length - 1;
+            if (previous != UNSTEADY && chunk.offsetAt(0) != previous) {
+                count++;
+            }
+            previous = chunk.offsetAt(chunk.transitions.length - 1);
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of chunks built so far
+     */
+    int builtChunkCount() {
+        int count = 0;
+        for (int c = 0; c < chunks.length(); c++) {
+            if (chunks.get(c) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the chunk covering {@code time}, or -1 outside the covered range
+     */
+    private int chunkIndex(long time) {
+        if (time < bounds[0] || time >= bounds[bounds.length - 1]) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(bounds, time);
+        return i < 0 ? -i - 2 : i;
+    }
+
+    private Chunk chunk(int c) {
+        Chunk chunk = chunks.get(c);
+        if (chunk == null) {
+            // two threads may both build it; the tables are equal, so either one can win
+            chunk = Chunk.build(zone, bounds[c], bounds[c + 1]);
+            chunks.set(c, chunk);
+        }
+        return chunk;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Transitions within one chunk's span; empty if the span has more distinct offsets than a byte indexes, in which
+     * case lookups go to the zone.
+     */
+    private static final class Chunk {
+        /**
+         * instants from which {@code offsets[offsetIndex[i]]} applies, ascending; the first is the chunk's start
+         */
+        final long[] transitions;
+        final byte[] offsetIndex;
+        final int[] offsets;
+
+        Chunk(long[] transitions, byte[] offsetIndex, int[] offsets) {
+            this.transitions = transitions;
+            this.offsetIndex = offsetIndex;
+            this.offsets = offsets;
+        }
+
+        static Chunk build(TimeZone zone, long from, long to) {
+            List<Long> instants = new ArrayList<>();
+            List<Integer> values = new ArrayList<>();
+            int current = zone.getOffset(from);
+            instants.add(from);
+            values.add(current);
+            long time = from;
+            while (time < to) {
+                long next = Math.min(time + STEP_MILLIS, to);
+                if (zone.getOffset(next) == current) {
+                    time = next;
+                    continue;
+                }
+                long low = time;
+                long high = next;
+                while (high - low > 1) {
+                    long middle = low + (high - low) / 2;
+                    if (zone.getOffset(middle) == current) {
+                        low = middle;
+                    } else {
+                        high = middle;
+                    }
+                }
+                current = zone.getOffset(high);
+                if (high < to) {
+                    instants.add(high);
+                    values.add(current);
+                }
+                time = high;
+            }
+
+            int[] offsets = new int[0];
+            byte[] offsetIndex = new byte[values.size()];
+            long[] transitions = new long[instants.size()];
+            for (int i = 0; i < transitions.length; i++) {
+                int k = indexOf(offsets, values.get(i));
+                if (k < 0) {
+                    if (offsets.length == 256) {
+                        return new Chunk(new long[0], new byte[0], new int[0]);
+                    }
+                    k = offsets.length;
+                    offsets = Arrays.copyOf(offsets, k + 1);
+                    offsets[k] = values.get(i);
+                }
+                offsetIndex[i] = (byte) k;
+                transitions[i] = instants.get(i);
+            }
+            return new Chunk(transitions, offsetIndex, offsets);
+        }
+
+        /**
+         * @return the index of the transition in effect at {@code time}, which must be inside the chunk
+         */
+        int find(long time) {
+            int i = Arrays.binarySearch(transitions, time);
+            return i < 0 ? -i - 2 : i;
+        }
+
+        int offsetAt(int i) {
+            return offsets[offsetIndex[i] & 0xff];
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures what a call allocates on the calling thread, for the tests of the allocation-free paths. Skips the test on a
+ * JVM that cannot count allocated bytes per thread.
+ */
+final class Allocations {
+
+    private static final int WARM_UP = 20000;
+    private static final int ITERATIONS = 10000;
+
+    private Allocations() {
+    }
+
+    /**
+     * @return the bytes allocated per run of {@code call}, averaged over many runs after a warm-up, so a one-off
+     *         allocation such as the once-a-second default time zone check rounds down to 0
+     */
+    static long perCall(Runnable call) {
+        Object bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < WARM_UP; i++) {
+            call.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+}
@@ -0,0 +1,71 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for DateHelper.parseDates batch parsing.
+ */
+public class BatchParserTest {
+
+    private static final DateFormats FORMAT = DateFormats.D_YYYYMMDD;
+
+    @Test
+    public void parseDates_shouldMatchParseDate_onCallingThread() {
+        // Partition: small input, parsed sequentially, with invalid and null entries
+        String[] dates = {"2025-04-14", "bad-date", null, "2024-12-31"};
+        long[] out = new long[dates.length];
+        long[] failures = new long[1];
+
+        assertEquals(2, DateHelper.parseDates(dates, FORMAT, out, failures));
+        assertEquals(DateHelper.parseDate("2025-04-14", FORMAT), out[0]);
+        assertEquals(0L, out[1]);
+        assertEquals(DateHelper.parseDate("2024-12-31", FORMAT), out[3]);
+        assertEquals(0b0110L, failures[0]);
+    }
+
+    @Test
+    public void parseDates_shouldMatchParseDate_whenSplitAcrossPool() {
+        // Partition: large input, split into fork-join slices
+        int size = BatchParser.SEQUENTIAL_THRESHOLD * 5 + 17;
+        String[] dates = new String[size];
+        for (int i = 0; i < size; i++) {
+            dates[i] = i % 97 == 0 ? "invalid" : String.format("%04d-%02d-%02d", 1990 + i % 40, 1 + i % 12, 1 + i % 28);
+        }
+        long[] out = new long[size];
+        long[] failures = new long[(size + 63) / 64];
+
+        int failed = DateHelper.parseDates(dates, FORMAT, out, failures);
+
+        int expectedFailures = 0;
+        for (int i = 0; i < size; i++) {
+            boolean failedBit = (failures[i / 64] & (1L << i)) != 0;
+            assertEquals(i % 97 == 0, failedBit);
+            assertEquals(DateHelper.parseDate(dates[i], FORMAT), out[i]);
+            if (failedBit) {
+                expectedFailures++;
+            }
+        }
+        assertEquals(expectedFailures, failed);
+    }
+
+    @Test
+    public void parseDates_shouldAcceptSequentialLists() {
+        List<String> dates = new LinkedList<>(Arrays.asList("14-Apr-2025", "20-May-2025"));
+        long[] out = new long[2];
+        assertEquals(0, DateHelper.parseDates(dates, DateFormats.D_DDMMYYYY_N, out, new long[1]));
+        assertEquals(DateHelper.parseDate("20-May-2025", DateFormats.D_DDMMYYYY_N), out[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseDates_shouldThrow_whenOutputTooShort() {
+        DateHelper.parseDates(new String[]{"2025-04-14", "2025-04-15"}, FORMAT, new long[1], new long[1]);
+    }
+}
@@ -0,0 +1,114 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for DateColumnLoader.
+ */
+public class DateColumnLoaderTest {
+
+    private static File write(String content) throws IOException {
+        File file = File.createTempFile("dates", ".tsv");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    @Test
+    public void load_shouldMatchParseDate_forTsvColumn() throws IOException {
+        File file = write("Input\tFormat\n2025-04-14\tD_YYYYMMDD\nbad-date\tD_YYYYMMDD\n2024-12-31\tD_YYYYMMDD\n");
+
+        long[] times = DateColumnLoader.load(file, '\t', "Input", DateFormats.D_YYYYMMDD);
+
+        assertArrayEquals(new long[]{DateHelper.parseDate("2025-04-14", DateFormats.D_YYYYMMDD), 0L,
+                DateHelper.parseDate("2024-12-31", DateFormats.D_YYYYMMDD)}, times);
+    }
+
+    @Test
+    public void load_shouldReadLinesSpanningChunks() throws IOException {
+        // Partition: chunk much smaller than the file, CRLF endings, no newline after the last line
+        StringBuilder content = new StringBuilder("Id,Date\r\n");
+        for (int i = 0; i < 200; i++) {
+            content.append(i).append(',').append(String.format("%04d-%02d-%02d", 1990 + i % 40, 1 + i % 12, 1 + i % 28));
+            if (i < 199) {
+                content.append("\r\n");
+            }
+        }
+        final List<Long> times = new ArrayList<>();
+        DateColumnLoader.Sink sink = new DateColumnLoader.Sink() {
+            @Override
+            public void onDate(long row, long time) {
+                assertEquals(times.size(), row);
+                times.add(time);
+            }
+
+            @Override
+            public void onFailure(long row, int errorCode) {
+                fail("row " + row + " failed with " + errorCode);
+            }
+        };
+
+        long rows = DateColumnLoader.load(write(content.toString()), ',', "Date", DateFormats.D_YYYYMMDD, sink, 64);
+
+        assertEquals(200, rows);
+        for (int i = 0; i < 200; i++) {
+            String date = String.format("%04d-%02d-%02d", 1990 + i % 40, 1 + i % 12, 1 + i % 28);
+            assertEquals(DateHelper.parseDate(date, DateFormats.D_YYYYMMDD), (long) times.get(i));
+        }
+    }
+
+    @Test
+    public void load_shouldParseQuotedCsvField_containingDelimiter() throws IOException {
+        File file = write("\"Date\",Note\n\"14/04/25, 10:00AM\",x\n");
+
+        long[] times = DateColumnLoader.load(file, ',', "Date", DateFormats.S_DDMMyyHHMMA);
+
+        assertEquals(DateHelper.parseDate("14/04/25, 10:00AM", DateFormats.S_DDMMyyHHMMA), times[0]);
+    }
+
+    @Test
+    public void load_shouldReportEndOfInput_whenRowLacksColumn() throws IOException {
+        File file = write("Id\tDate\n1\n\n2\t2025-04-14\n");
+        final int[] errorCodes = {-1, -1};
+        DateColumnLoader.Sink sink = new DateColumnLoader.Sink() {
+            @Override
+            public void onDate(long row, long time) {
+                errorCodes[(int) row] = DateParseResult.ERROR_NONE;
+            }
+
+            @Override
+            public void onFailure(long row, int errorCode) {
+                errorCodes[(int) row] = errorCode;
+            }
+        };
+
+        assertEquals(2, DateColumnLoader.load(file, '\t', "Date", DateFormats.D_YYYYMMDD, sink));
+        assertArrayEquals(new int[]{DateParseResult.ERROR_END_OF_INPUT, DateParseResult.ERROR_NONE}, errorCodes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void load_shouldThrow_whenColumnMissing() throws IOException {
+        DateColumnLoader.load(write("Input\tFormat\n"), '\t', "Date", DateFormats.D_YYYYMMDD);
+    }
+
+    @Test(expected = IOException.class)
+    public void load_shouldThrow_whenLineLongerThanChunk() throws IOException {
+        DateColumnLoader.load(write("Date\n2025-04-14 and a long tail\n"), '\t', "Date", DateFormats.D_YYYYMMDD,
+                null, 8);
+    }
+}
@@ -0,0 +1,181 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the primitive date column.
+ */
+public class DateColumnTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final long TIME = 1713106800000L;
+
+    private TimeZone originalZone;
+
+    @Before
+    public void setUp() {
+        originalZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        DayClock.reset();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(originalZone);
+        DayClock.reset();
+    }
+
+    // Partition: millis column, growth past the initial capacity, lazy rendering
+    @Test
+    public void ofMillis_shouldKeepInstants_andRenderLikeGetDesiredFormat() {
+        DateColumn column = DateColumn.ofMillis(0);
+        long[] times = new long[100];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = TIME + i * 3600 * 1000L + i;
+            column.add(times[i]);
+        }
+        assertEquals(times.length, column.size());
+        assertArrayEquals(times, column.toArray());
+        List<String> rendered = column.asList(DateFormats.D_DDMMYYYYHHMMSSA_N);
+        char[] out = new char[40];
+        for (int i = 0; i < times.length; i++) {
+            String expected = DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, times[i]);
+            assertEquals(expected, rendered.get(i));
+            assertEquals(expected, column.getDesiredFormat(i, DateFormats.D_DDMMYYYYHHMMSSA_N));
+            int length = column.getDesiredFormat(i, DateFormats.D_DDMMYYYYHHMMSSA_N, out, 2);
+            assertEquals(expected, new String(out, 2, length));
+        }
+        column.add(TIME);
+        assertEquals(times.length + 1, rendered.size());
+    }
+
+    // Partition: epoch-days column, dates kept across a change of default zone
+    @Test
+    public void ofEpochDays_shouldKeepDates_whenZoneChanges() {
+        DateColumn column = DateColumn.ofEpochDays();
+        // 2024-04-14 23:00 in New York, already the 15th in UTC
+        long lateEvening = DateHelper.parseDate("2024-04-14, 11:00PM", DateFormats.D_YYYYMMDDHHMMA);
+        column.add(lateEvening);
+        column.addEpochDay(0);
+        assertTrue(column.isEpochDays());
+        assertEquals(19827, column.getEpochDay(0));
+        assertEquals("2024-04-14", column.getDesiredFormat(0, DateFormats.D_YYYYMMDD));
+        assertEquals("2024-04-14, 12:00AM", column.getDesiredFormat(0, DateFormats.D_YYYYMMDDHHMMA));
+
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        DayClock.reset();
+        assertEquals(Arrays.asList("2024-04-14", "1970-01-01"), column.asList(DateFormats.D_YYYYMMDD));
+        assertEquals(DateHelper.parseDate("2024-04-14", DateFormats.D_YYYYMMDD), column.get(0));
+    }
+
+    // Partition: date whose midnight is skipped by a DST transition
+    @Test
+    public void ofEpochDays_shouldRenderSameDate_whenMidnightIsSkipped() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+        DayClock.reset();
+        DateColumn column = DateColumn.ofEpochDays();
+        // Sao Paulo went from 00:00 to 01:00 on 2018-11-04
+        column.addEpochDay(17839);
+        assertEquals("04/11/2018", column.getDesiredFormat(0, DateFormats.S_DDMMYYYY));
+        assertEquals("04/11/2018, 01:00AM", column.getDesiredFormat(0, DateFormats.S_DDMMYYYYHHMMA));
+        DateColumn millis = DateColumn.ofMillis();
+        millis.add(column.get(0));
+        assertEquals(17839, millis.getEpochDay(0));
+    }
+
+    // Partition: sort, index slices, time ranges on both kinds
+    @Test
+    public void range_shouldMatchLinearScan_afterSort() {
+        Random random = new Random(25);
+        for (DateColumn column : new DateColumn[]{DateColumn.ofMillis(), DateColumn.ofEpochDays()}) {
+            long[] times = new long[300];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = TIME + (random.nextLong() % (400 * DAY));
+            }
+            column.addAll(times);
+            try {
+                column.range(0, 1);
+                fail("unsorted column should not be range searched");
+            } catch (IllegalStateException expected) {
+            }
+            column.sort();
+            long[] sorted = column.toArray();
+            for (int i = 1; i < sorted.length; i++) {
+                assertTrue(sorted[i - 1] <= sorted[i]);
+            }
+            for (int k = 0; k < 50; k++) {
+                long from = TIME + (random.nextLong() % (420 * DAY));
+                long to = from + random.nextInt(100) * DAY / (k % 2 == 0 ? 1 : 7) + (k % 3 == 0 ? 0 : 1);
+                if (k == 0) {
+                    // a bound exactly at an entry includes it as start and excludes it as end
+                    from = sorted[10];
+                    to = sorted[20];
+                }
+                int count = 0;
+                for (long time : sorted) {
+                    if (time >= from && time < to) {
+                        count++;
+                    }
+                }
+                DateColumn range = column.range(from, to);
+                assertEquals(column.isEpochDays() + " " + from + " " + to, count, range.size());
+                for (int i = 0; i < range.size(); i++) {
+                    assertTrue(range.get(i) >= from && range.get(i) < to);
+                }
+            }
+            DateColumn slice = column.slice(5, 9);
+            assertEquals(4, slice.size());
+            assertEquals(column.isEpochDays(), slice.isEpochDays());
+            assertArrayEquals(Arrays.copyOfRange(sorted, 5, 9), slice.toArray());
+            assertEquals(0, column.range(TIME, TIME - DAY).size());
+        }
+    }
+
+    // Partition: millis and epoch-days columns rendered into a char[]
+    @Test
+    public void getDesiredFormat_shouldNotAllocate_intoCharArray() {
+        final DateColumn millis = DateColumn.ofMillis();
+        millis.add(TIME);
+        final DateColumn days = DateColumn.ofEpochDays();
+        days.add(TIME);
+        final char[] out = new char[32];
+        assertEquals(0, Allocations.perCall(new Runnable() {
+            @Override
+            public void run() {
+                millis.getDesiredFormat(0, DateFormats.D_DDMMYYYYHHMMA_N, out, 0);
+                days.getDesiredFormat(0, DateFormats.D_YYYYMMDD, out, 0);
+            }
+        }));
+    }
+
+    // Partition: out-of-range index and slice bounds
+    @Test
+    public void get_shouldThrow_forIndexOutOfRange() {
+        DateColumn column = DateColumn.ofMillis();
+        column.add(TIME);
+        column.trimToSize();
+        try {
+            column.get(1);
+            fail("index 1 of 1");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            column.slice(0, 2);
+            fail("slice past the end");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        column.add(TIME + 1);
+        assertEquals(2, column.size());
+    }
+}
@@ -0,0 +1,57 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the parse-once getDifference API and its batch form.
+ */
+public class DateDifferenceTest {
+
+    private static final DateFormats FORMAT = DateFormats.D_YYYYMMDDHHMMSSA;
+
+    private final DateDifference difference = new DateDifference();
+
+    @Test
+    public void getDifference_shouldMatchBetweenMethods() {
+        String old = "2025-04-14, 10:00:00AM";
+        String newDate = "2025-04-16, 01:30:15PM";
+        assertTrue(DateHelper.getDifference(old, newDate, FORMAT, difference));
+        assertTrue(difference.isValid());
+        assertEquals((long) DateHelper.getDaysBetweenTwoDate(old, newDate, FORMAT), difference.getDays());
+        assertEquals((long) DateHelper.getHoursBetweenTwoDate(old, newDate, FORMAT), difference.getHours());
+        assertEquals((long) DateHelper.getMinutesBetweenTwoDates(old, newDate, FORMAT), difference.getMinutes());
+        assertEquals(-(2 * 86400 + 3 * 3600 + 30 * 60 + 15), difference.getSeconds());
+    }
+
+    @Test
+    public void getDifference_shouldInvalidate_whenEitherDateFails() {
+        // Partition: a valid result is overwritten by a failing pair
+        assertTrue(DateHelper.getDifference("2025-04-14, 10:00:00AM", "2025-04-14, 10:00:01AM", FORMAT, difference));
+        assertFalse(DateHelper.getDifference("2025-04-14, 10:00:00AM", "bad-date", FORMAT, difference));
+        assertFalse(difference.isValid());
+        assertEquals(0, difference.getMillis());
+    }
+
+    @Test
+    public void getDifferences_shouldWriteDeltasInUnit() {
+        String[] old = {"2025-04-14, 10:00:00AM", "bad-date", "2025-04-14, 11:00:00PM"};
+        String[] newDates = {"2025-04-14, 12:00:00PM", "2025-04-14, 10:00:00AM", "2025-04-14, 10:00:00PM"};
+        long[] out = new long[3];
+        long[] failures = new long[1];
+
+        assertEquals(1, DateHelper.getDifferences(old, newDates, FORMAT, TimeUnit.MINUTES, out, failures));
+        assertArrayEquals(new long[]{-120, 0, 60}, out);
+        assertEquals(0b010L, failures[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getDifferences_shouldThrow_whenLengthsDiffer() {
+        DateHelper.getDifferences(new String[2], new String[1], FORMAT, TimeUnit.DAYS, new long[2], new long[1]);
+    }
+}
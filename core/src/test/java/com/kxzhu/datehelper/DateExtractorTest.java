@@ -0,0 +1,124 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the streaming date extractor.
+ */
+public class DateExtractorTest {
+
+    private static final long TIME = 1713106800000L;
+
+    // Partition: every format, surrounded by words and punctuation
+    @Test
+    public void extract_shouldFindEveryFormat_inFreeText() throws IOException {
+        for (DateFormats format : DateFormats.values()) {
+            String date = DateHelper.getDesiredFormat(format, TIME);
+            String text = "job 42 started at " + date + "; took 7s";
+            List<String> found = extract(text, DateExtractor.DEFAULT_BUFFER_SIZE);
+            assertEquals(format.name(), 1, found.size());
+            String[] match = found.get(0).split("\\|");
+            DateFormats reported = DateFormats.valueOf(match[2]);
+            assertEquals(format.name(), text.indexOf(date) + "|" + date.length(), match[0] + "|" + match[1]);
+            assertEquals(format.name(), DateHelper.parseDate(date, reported), Long.parseLong(match[3]));
+            // only equally shaped constants declared earlier may win
+            assertTrue(format.name(), reported.ordinal() <= format.ordinal());
+        }
+    }
+
+    // Partition: dates crossing every possible read boundary
+    @Test
+    public void extract_shouldFindSameDates_forAnyReadSize() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (DateFormats format : DateFormats.values()) {
+            text.append("id=").append(format.ordinal()).append(' ')
+                    .append(DateHelper.getDesiredFormat(format, TIME + format.ordinal() * 86400000L)).append(" | ");
+        }
+        List<String> expected = extract(text.toString(), DateExtractor.DEFAULT_BUFFER_SIZE);
+        assertEquals(DateFormats.values().length, expected.size());
+        assertEquals(expected, extract(text.toString(), 1));
+        for (int readSize = 1; readSize < 40; readSize += 7) {
+            final int size = readSize;
+            final List<String> found = new ArrayList<>();
+            Reader reader = new StringReader(text.toString()) {
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    return super.read(buffer, offset, Math.min(length, size));
+                }
+            };
+            DateExtractor.extract(reader, collector(found), 1);
+            assertEquals("read size " + readSize, expected, found);
+        }
+    }
+
+    // Partition: longest match, digit boundaries
+    @Test
+    public void extract_shouldPreferLongestMatch_andRespectDigitBoundaries() throws IOException {
+        assertEquals(1, extract("at 2024-04-14, 10:00AM ok", 1).size());
+        assertTrue(extract("at 2024-04-14, 10:00AM ok", 1).get(0).contains("D_YYYYMMDDHHMMA|"));
+        assertEquals(0, extract("order 12024-04-14 and 2024-04-145", 1).size());
+        assertEquals(0, extract("no dates here: 10 - 4 / 2024", 1).size());
+        assertEquals(2, extract("10:00 to 10:30", 1).size());
+    }
+
+    // Partition: UTF-8 channel, multi-byte text before and inside dates
+    @Test
+    public void extract_shouldReportByteOffsets_forChannel() throws IOException {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.FRANCE);
+            String date = "14-févr.-2024";
+            String text = "café ouvert le " + date + " à 09:30";
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            List<String> found = new ArrayList<>();
+            long count = DateExtractor.extract(Channels.newChannel(new ByteArrayInputStream(bytes)), collector(found), 1);
+            assertEquals(2, count);
+            int offset = ("café ouvert le ").getBytes(StandardCharsets.UTF_8).length;
+            assertEquals(offset + "|" + date.getBytes(StandardCharsets.UTF_8).length + "|D_DDMMYYYY_N|"
+                    + DateHelper.parseDate(date, DateFormats.D_DDMMYYYY_N), found.get(0));
+            assertTrue(found.get(1).startsWith((bytes.length - 5) + "|5|HHMM|"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    // Partition: malformed UTF-8 counts one byte per bad byte
+    @Test
+    public void extract_shouldSkipMalformedBytes() throws IOException {
+        byte[] bytes = {(byte) 0xff, (byte) 0xc3, ' ', '2', '0', '2', '4', '/', '0', '4', '/', '1', '4'};
+        List<String> found = new ArrayList<>();
+        DateExtractor.extract(Channels.newChannel(new ByteArrayInputStream(bytes)), collector(found));
+        assertEquals(1, found.size());
+        assertTrue(found.get(0).startsWith("3|10|S_YYYYMMDD|"));
+    }
+
+    private static List<String> extract(String text, int bufferSize) throws IOException {
+        List<String> found = new ArrayList<>();
+        long count = DateExtractor.extract(new StringReader(text), collector(found), bufferSize);
+        assertEquals(found.size(), count);
+        return found;
+    }
+
+    private static DateExtractor.Sink collector(final List<String> found) {
+        return new DateExtractor.Sink() {
+            @Override
+            public void onDate(long offset, int length, DateFormats format, long time) {
+                found.add(offset + "|" + length + "|" + format + "|" + time);
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the DateHelper formatting overloads that write into caller-supplied buffers.
+ */
+public class DateHelperFormatIntoTest {
+
+    private static final long TIME = 1713106800000L;
+
+    @Test
+    public void getDesiredFormat_shouldAppendSameText_asStringOverload() {
+        StringBuilder out = new StringBuilder("at ");
+        String expected = DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, TIME);
+        assertEquals(expected.length(), DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, TIME, out));
+        assertEquals("at " + expected, out.toString());
+    }
+
+    @Test
+    public void helpers_shouldWriteSameText_asStringOverloads() {
+        // Partition: each fixed helper pattern, into a char[] slice
+        char[] out = new char[40];
+        int length = DateHelper.getDateOnly(TIME, out, 5);
+        assertEquals(DateHelper.getDateOnly(TIME), new String(out, 5, length));
+        length = DateHelper.getDateAndTime(TIME, out, 0);
+        assertEquals(DateHelper.getDateAndTime(TIME), new String(out, 0, length));
+        length = DateHelper.getTimeOnly(TIME, out, 0);
+        assertEquals(DateHelper.getTimeOnly(TIME), new String(out, 0, length));
+    }
+
+    @Test
+    public void getDesiredFormat_shouldPutAscii_intoByteBuffer() {
+        ByteBuffer out = ByteBuffer.allocate(32);
+        out.put((byte) '[');
+        int length = DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDD, TIME, out);
+        assertEquals(11, out.position());
+        assertEquals(DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDD, TIME), new String(out.array(), 1, length));
+    }
+
+    @Test
+    public void getDesiredFormat_shouldFallBack_forJulianDates() {
+        long year1500 = -14831769600000L;
+        StringBuilder out = new StringBuilder();
+        DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDD, year1500, out);
+        assertEquals(DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDD, year1500), out.toString());
+    }
+
+    @Test
+    public void writeOverloads_shouldNotAllocate() {
+        // Partition: StringBuilder, char[] and ByteBuffer targets, a DateFormats constant and a fixed helper
+        final StringBuilder builder = new StringBuilder(64);
+        final char[] chars = new char[64];
+        final ByteBuffer bytes = ByteBuffer.allocate(64);
+        assertEquals(0, Allocations.perCall(new Runnable() {
+            @Override
+            public void run() {
+                builder.setLength(0);
+                DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, TIME, builder);
+                DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, TIME, chars, 0);
+                bytes.clear();
+                DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMSSA_N, TIME, bytes);
+                DateHelper.getDateAndTime(TIME, chars, 0);
+            }
+        }));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getDateOnly_shouldThrow_whenCharArrayTooShort() {
+        DateHelper.getDateOnly(TIME, new char[12], 3);
+    }
+
+    @Test
+    public void getDateOnly_shouldWriteNothing_whenByteBufferTooShort() {
+        ByteBuffer out = ByteBuffer.allocate(9);
+        try {
+            DateHelper.getDateOnly(TIME, out);
+            fail();
+        } catch (BufferOverflowException expected) {
+            assertEquals(0, out.position());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the optional per-method, per-format metrics.
+ */
+public class DateHelperMetricsTest {
+
+    @Before
+    public void setUp() {
+        DateHelperMetrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        DateHelperMetrics.setEnabled(false);
+        DateHelperMetrics.reset();
+    }
+
+    // Partition: disabled
+    @Test
+    public void snapshot_shouldBeEmpty_whenDisabled() {
+        DateHelper.parseDate("2025-04-14", DateHelper.DateFormats.D_YYYYMMDD);
+        DateHelper.prettifyDate(0L);
+        assertTrue(DateHelperMetrics.snapshot().isEmpty());
+        assertEquals(DateHelperMetrics.OFF, DateHelperMetrics.start());
+    }
+
+    // Partition: enabled, successes and failures of one format
+    @Test
+    public void parseDate_shouldCountCallsAndFailures_perFormat() {
+        DateHelperMetrics.setEnabled(true);
+        DateHelper.parseDate("2025-04-14", DateHelper.DateFormats.D_YYYYMMDD);
+        DateHelper.parseDate("bad-string", DateHelper.DateFormats.D_YYYYMMDD);
+        DateHelper.parseDate("14/04/2025", DateHelper.DateFormats.S_DDMMYYYY);
+
+        List<DateHelperMetrics.Snapshot> snapshots = DateHelperMetrics.snapshot();
+        assertEquals(2, snapshots.size());
+        DateHelperMetrics.Snapshot first = snapshots.get(0);
+        assertEquals(DateHelperMetrics.Method.PARSE_DATE, first.getMethod());
+        assertEquals(DateHelper.DateFormats.D_YYYYMMDD, first.getFormat());
+        assertEquals(2, first.getCalls());
+        assertEquals(1, first.getFailures());
+        assertEquals(DateHelper.DateFormats.S_DDMMYYYY, snapshots.get(1).getFormat());
+        assertEquals(0, snapshots.get(1).getFailures());
+    }
+
+    // Partition: nested calls are recorded once, against the outer method
+    @Test
+    public void getDaysBetweenTwoDate_shouldNotRecordInnerParses() {
+        DateHelperMetrics.setEnabled(true);
+        DateHelper.getDaysBetweenTwoDate("2025-04-14", "2025-04-10", DateHelper.DateFormats.D_YYYYMMDD);
+        DateHelper.getDaysBetweenTwoDate("2025-04-14", null, DateHelper.DateFormats.D_YYYYMMDD);
+
+        List<DateHelperMetrics.Snapshot> snapshots = DateHelperMetrics.snapshot();
+        assertEquals(1, snapshots.size());
+        assertEquals(DateHelperMetrics.Method.GET_DAYS_BETWEEN_TWO_DATE, snapshots.get(0).getMethod());
+        assertEquals(2, snapshots.get(0).getCalls());
+        assertEquals(1, snapshots.get(0).getFailures());
+    }
+
+    // Partition: parseAnyDate, matched and unmatched
+    @Test
+    public void parseAnyDate_shouldRecordMatchedFormat_orNoneOnFailure() {
+        DateHelperMetrics.setEnabled(true);
+        long time = DateHelper.parseAnyDate("2025-04-14");
+        assertEquals(DateHelper.parseDate("2025-04-14", DateHelper.DateFormats.D_YYYYMMDD), time);
+        assertEquals(0, DateHelper.parseAnyDate("bad-string"));
+
+        List<DateHelperMetrics.Snapshot> snapshots = DateHelperMetrics.snapshot();
+        // the parseDate call above is recorded too
+        assertEquals(3, snapshots.size());
+        DateHelperMetrics.Snapshot failed = snapshots.get(1);
+        assertEquals(DateHelperMetrics.Method.PARSE_ANY_DATE, failed.getMethod());
+        assertNull(failed.getFormat());
+        assertEquals(1, failed.getFailures());
+        assertEquals(DateHelper.DateFormats.D_YYYYMMDD, snapshots.get(2).getFormat());
+        assertEquals(0, snapshots.get(2).getFailures());
+    }
+
+    // Partition: parseAnyDate keeps the first partial match when nothing reads the whole input
+    @Test
+    public void parseAnyDate_shouldReturnFirstPartialMatch() {
+        DateHelperMetrics.setEnabled(true);
+        assertEquals(DateHelper.parseDate("14/04/25", DateHelper.DateFormats.S_YYMMDD),
+                DateHelper.parseAnyDate("14/04/25 trailing"));
+    }
+
+    // Partition: every public overload of parseDate and getDesiredFormat
+    @Test
+    public void record_shouldCountEveryOverload() {
+        DateHelperMetrics.setEnabled(true);
+        DateHelper.DateFormats format = DateHelper.DateFormats.D_YYYYMMDD;
+        byte[] bytes = "2024-04-14".getBytes(StandardCharsets.US_ASCII);
+        DateParseResult result = new DateParseResult();
+        DateHelper.parseDate("2024-04-14", format);
+        DateHelper.parseDate("2024-04-14", format, result);
+        DateHelper.parseDate("2024-04-14", format, Locale.US, TimeZone.getTimeZone("UTC"));
+        DateHelper.parseDate("2024-04-14", format, Locale.US, TimeZone.getTimeZone("UTC"), result);
+        DateHelper.parseDate(bytes, 0, bytes.length, format);
+        DateHelper.parseDate(bytes, 0, bytes.length, format, result);
+        DateHelper.parseDateBuffer(ByteBuffer.wrap(bytes), format);
+        DateHelper.parseDateBuffer(ByteBuffer.wrap(bytes), format, result);
+        DateHelper.getDesiredFormat(format);
+        DateHelper.getDesiredFormat(format, 0L);
+        DateHelper.getDesiredFormat(format, 0L, Locale.US, TimeZone.getTimeZone("UTC"));
+        DateHelper.getDesiredFormat(format, 0L, new StringBuilder());
+        DateHelper.getDesiredFormat(format, 0L, new char[16], 0);
+        DateHelper.getDesiredFormat(format, 0L, ByteBuffer.allocate(16));
+
+        List<DateHelperMetrics.Snapshot> snapshots = DateHelperMetrics.snapshot();
+        assertEquals(2, snapshots.size());
+        assertEquals(DateHelperMetrics.Method.PARSE_DATE, snapshots.get(0).getMethod());
+        assertEquals(8, snapshots.get(0).getCalls());
+        assertEquals(0, snapshots.get(0).getFailures());
+        assertEquals(DateHelperMetrics.Method.GET_DESIRED_FORMAT, snapshots.get(1).getMethod());
+        assertEquals(6, snapshots.get(1).getCalls());
+    }
+
+    // Partition: fixed-pattern helpers, parsing and formatting
+    @Test
+    public void fixedPatternHelpers_shouldNotBeRecorded() {
+        DateHelperMetrics.setEnabled(true);
+        assertEquals(DateHelper.parseDate("14/04/2024", DateHelper.DateFormats.S_DDMMYYYY),
+                DateHelper.getDateOnly("14/04/2024"));
+        DateHelperMetrics.reset();
+        DateHelper.getDateOnly("14/04/2024");
+        DateHelper.getDateOnly("not a date");
+        DateHelper.getDateOnly(0L);
+        DateHelper.getDateAndTime(0L);
+        DateHelper.getTimeOnly(0L);
+        DateHelper.getToday();
+        DateHelper.getDateFromDays(3);
+        assertTrue(DateHelperMetrics.snapshot().isEmpty());
+    }
+
+    // Partition: reset
+    @Test
+    public void reset_shouldDropRecordedSeries() {
+        DateHelperMetrics.setEnabled(true);
+        DateHelper.getDesiredFormat(DateHelper.DateFormats.HHMM, 0L);
+        assertEquals(1, DateHelperMetrics.snapshot().size());
+        DateHelperMetrics.reset();
+        assertTrue(DateHelperMetrics.snapshot().isEmpty());
+    }
+
+    // Partition: bucket boundaries
+    @Test
+    public void bucket_shouldFallWithinItsBounds() {
+        long[] samples = {0, 1, 3, 4, 7, 8, 9, 15, 16, 1000, 123456789L, 1L << 39, Long.MAX_VALUE};
+        for (long nanos : samples) {
+            int bucket = DateHelperMetrics.bucket(nanos);
+            assertTrue(nanos + " in " + bucket, DateHelperMetrics.bucketLowerBoundNanos(bucket) <= nanos);
+            assertTrue(nanos + " in " + bucket, DateHelperMetrics.bucketUpperBoundNanos(bucket) >= nanos);
+        }
+        assertEquals(DateHelperMetrics.BUCKETS - 1, DateHelperMetrics.bucket(Long.MAX_VALUE));
+        assertEquals(0, DateHelperMetrics.bucket(-5));
+    }
+
+    // Partition: percentile of recorded latencies
+    @Test
+    public void getPercentileNanos_shouldReturnBucketUpperBound() {
+        DateHelperMetrics.setEnabled(true);
+        long now = System.nanoTime();
+        for (int i = 0; i < 99; i++) {
+            DateHelperMetrics.record(DateHelperMetrics.Method.PRETTIFY_DATE, null, now, true);
+        }
+        DateHelperMetrics.record(DateHelperMetrics.Method.PRETTIFY_DATE, null, now - 60_000_000_000L, true);
+
+        DateHelperMetrics.Snapshot snapshot = DateHelperMetrics.snapshot().get(0);
+        assertEquals(100, snapshot.getCalls());
+        assertTrue(snapshot.getPercentileNanos(99) < 60_000_000_000L);
+        assertTrue(snapshot.getPercentileNanos(100) >= 60_000_000_000L);
+        assertTrue(snapshot.getMeanNanos() >= 600_000_000L);
+    }
+}
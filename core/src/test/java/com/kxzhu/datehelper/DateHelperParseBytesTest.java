@@ -0,0 +1,121 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the DateHelper parse overloads that read UTF-8 bytes.
+ */
+public class DateHelperParseBytesTest {
+
+    private static final long TIME = 1713106800000L;
+
+    // Partition: every format, well-formed input inside a larger array
+    @Test
+    public void parseDate_shouldMatchStringOverload_forEveryFormat() {
+        DateParseResult expected = new DateParseResult();
+        DateParseResult actual = new DateParseResult();
+        for (DateFormats format : DateFormats.values()) {
+            String text = DateHelper.getDesiredFormat(format, TIME);
+            byte[] bytes = ("xx" + text + " tail").getBytes(StandardCharsets.UTF_8);
+            assertEquals(format.name(), DateHelper.parseDate(text, format, expected),
+                    DateHelper.parseDate(bytes, 2, text.length(), format, actual));
+            assertEquals(format.name(), expected.getTime(), actual.getTime());
+            assertEquals(format.name(), expected.getIndex() + 2, actual.getIndex());
+            assertEquals(expected.getTime(), DateHelper.parseDate(bytes, 2, text.length(), format));
+        }
+    }
+
+    // Partition: random ASCII, mostly malformed
+    @Test
+    public void parseDate_shouldMatchStringOverload_forRandomAscii() {
+        Random random = new Random(11);
+        String alphabet = "0123456789/-:, aAmMpPrRyY";
+        DateParseResult expected = new DateParseResult();
+        DateParseResult actual = new DateParseResult();
+        for (int i = 0; i < 20000; i++) {
+            char[] chars = new char[random.nextInt(24)];
+            for (int k = 0; k < chars.length; k++) {
+                chars[k] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String text = new String(chars);
+            DateFormats format = DateFormats.values()[random.nextInt(DateFormats.values().length)];
+            boolean parsed = DateHelper.parseDate(text, format, expected);
+            assertEquals(text, parsed, DateHelper.parseDate(text.getBytes(StandardCharsets.US_ASCII), 0, chars.length,
+                    format, actual));
+            assertEquals(text, expected.getTime(), actual.getTime());
+            assertEquals(text, expected.getIndex(), actual.getIndex());
+            assertEquals(text, expected.getErrorCode(), actual.getErrorCode());
+            assertEquals(text, expected.getErrorIndex(), actual.getErrorIndex());
+        }
+    }
+
+    // Partition: heap and direct buffers, between position and limit
+    @Test
+    public void parseDateBuffer_shouldReadBetweenPositionAndLimit() {
+        String text = DateHelper.getDesiredFormat(DateFormats.S_DDMMYYYYHHMMSSA, TIME);
+        byte[] bytes = ("##" + text + "##").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(bytes), direct}) {
+            buffer.limit(2 + text.length()).position(2);
+            DateParseResult result = new DateParseResult();
+            assertTrue(DateHelper.parseDateBuffer(buffer, DateFormats.S_DDMMYYYYHHMMSSA, result));
+            assertEquals(DateHelper.parseDate(text, DateFormats.S_DDMMYYYYHHMMSSA), result.getTime());
+            assertEquals(2 + text.length(), result.getIndex());
+            assertEquals(2, buffer.position());
+            assertEquals(2 + text.length(), buffer.limit());
+        }
+    }
+
+    // Partition: limit cuts the date short
+    @Test
+    public void parseDateBuffer_shouldFailAtLimit() {
+        ByteBuffer buffer = ByteBuffer.wrap("2025-04-14".getBytes(StandardCharsets.US_ASCII));
+        buffer.limit(8);
+        DateParseResult result = new DateParseResult();
+        assertFalse(DateHelper.parseDateBuffer(buffer, DateFormats.D_YYYYMMDD, result));
+        assertEquals(DateParseResult.ERROR_END_OF_INPUT, result.getErrorCode());
+    }
+
+    // Partition: multi-byte month name, indexes in bytes
+    @Test
+    public void parseDate_shouldDecodeNonAscii_andReportByteIndexes() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.FRANCE);
+            String text = "14-févr.-2024";
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            DateParseResult result = new DateParseResult();
+            assertEquals(DateHelper.parseDate(text, DateFormats.D_DDMMYYYY_N, result),
+                    DateHelper.parseDate(bytes, 0, bytes.length, DateFormats.D_DDMMYYYY_N, result));
+            assertTrue(result.isSuccess());
+            assertEquals(DateHelper.parseDate(text, DateFormats.D_DDMMYYYY_N), result.getTime());
+            assertEquals(bytes.length, result.getIndex());
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    // Partition: null input
+    @Test
+    public void parseDate_shouldReportNullInput() {
+        DateParseResult result = new DateParseResult();
+        assertFalse(DateHelper.parseDate((byte[]) null, 0, 0, DateFormats.D_YYYYMMDD, result));
+        assertEquals(DateParseResult.ERROR_NULL_INPUT, result.getErrorCode());
+        assertEquals(0, DateHelper.parseDateBuffer(null, DateFormats.D_YYYYMMDD));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void parseDate_shouldThrowIOOBE_whenRangeOutsideArray() {
+        DateHelper.parseDate(new byte[8], 4, 5, DateFormats.D_YYYYMMDD);
+    }
+}
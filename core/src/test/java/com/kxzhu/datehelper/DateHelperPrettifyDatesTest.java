@@ -0,0 +1,123 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the batch prettifyDate overloads.
+ */
+public class DateHelperPrettifyDatesTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    private TimeZone originalZone;
+
+    @Before
+    public void setUp() {
+        originalZone = TimeZone.getDefault();
+        PrettifyCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(originalZone);
+        DayClock.reset();
+        PrettifyCache.clear();
+    }
+
+    // Partition: sorted feed around today, repeated minutes
+    @Test
+    public void prettifyDates_shouldMatchPrettifyDate_forSortedInput() {
+        long start = System.currentTimeMillis() / MINUTE * MINUTE - 3 * DAY;
+        long[] timestamps = new long[2000];
+        for (int i = 0; i < timestamps.length; i++) {
+            // four per minute, 8.5 minutes apart
+            timestamps[i] = start + i / 4 * 17 * MINUTE / 2 + i % 4 * 1000;
+        }
+        assertPrettified(timestamps);
+        String[] out = DateHelper.prettifyDates(timestamps);
+        assertSame(out[0], out[1]);
+    }
+
+    // Partition: unsorted input, negative and far-off instants
+    @Test
+    public void prettifyDates_shouldMatchPrettifyDate_forUnsortedInput() {
+        Random random = new Random(24);
+        long now = System.currentTimeMillis();
+        long[] timestamps = new long[300];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = i % 3 == 0 ? now - random.nextInt((int) DAY) : random.nextLong() % 4000000000000L;
+        }
+        assertPrettified(timestamps);
+    }
+
+    // Partition: zone whose historic offset is not a whole number of minutes
+    @Test
+    public void prettifyDates_shouldMatchPrettifyDate_forNonMinuteOffset() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Africa/Monrovia"));
+        DayClock.reset();
+        long[] timestamps = new long[240];
+        for (int i = 0; i < timestamps.length; i++) {
+            // 1960, when Monrovia was 44:30 behind UTC
+            timestamps[i] = -315619200000L + i * 15 * 1000L;
+        }
+        assertPrettified(timestamps);
+    }
+
+    // Partition: empty input
+    @Test
+    public void prettifyDates_shouldAcceptEmptyInput() {
+        assertEquals(0, DateHelper.prettifyDates(new long[0]).length);
+        DateHelper.prettifyDates(new long[0], new DateHelper.PrettifySink() {
+            @Override
+            public void onDate(int index, char[] text, int length) {
+                fail("no timestamps to render");
+            }
+        });
+    }
+
+    // Partition: sink calling back into DateHelper between renderings
+    @Test
+    public void prettifyDates_shouldKeepSinkText_whenSinkFormats() {
+        long now = System.currentTimeMillis();
+        long[] timestamps = {now - 2 * DAY, now - 2 * DAY + 1000, now};
+        final List<String> found = new ArrayList<>();
+        DateHelper.prettifyDates(timestamps, new DateHelper.PrettifySink() {
+            @Override
+            public void onDate(int index, char[] text, int length) {
+                DateHelper.getDesiredFormat(DateHelper.DateFormats.D_YYYYMMDDHHMMSSA_N, 0L);
+                found.add(new String(text, 0, length));
+            }
+        });
+        assertEquals(Arrays.asList(DateHelper.prettifyDates(timestamps)), found);
+    }
+
+    private static void assertPrettified(long[] timestamps) {
+        String[] expected = new String[timestamps.length];
+        for (int i = 0; i < timestamps.length; i++) {
+            expected[i] = DateHelper.prettifyDate(timestamps[i]);
+        }
+        PrettifyCache.clear();
+        assertArrayEquals(expected, DateHelper.prettifyDates(timestamps));
+        final String[] sunk = new String[timestamps.length];
+        final int[] calls = {0};
+        DateHelper.prettifyDates(timestamps, new DateHelper.PrettifySink() {
+            @Override
+            public void onDate(int index, char[] text, int length) {
+                assertEquals(calls[0]++, index);
+                sunk[index] = new String(text, 0, length);
+            }
+        });
+        assertArrayEquals(expected, sunk);
+    }
+}
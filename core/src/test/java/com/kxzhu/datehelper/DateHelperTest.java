@@ -4,9 +4,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
@@ -418,4 +420,89 @@ public class DateHelperTest {
 
         assertEquals(expectedDate, formattedDate);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getDesiredFormat_shouldUseGivenLocaleAndZone() {
+        // Partition: explicit locale and time zone
+        long time = 1713106800000L; // 2024-04-14T15:00:00Z
+        SimpleDateFormat expected = new SimpleDateFormat("dd-MMM-yyyy, hh:mma", Locale.FRANCE);
+        expected.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+        assertEquals(expected.format(new Date(time)), DateHelper.getDesiredFormat(DateFormats.D_DDMMYYYYHHMMA_N, time,
+                Locale.FRANCE, TimeZone.getTimeZone("Asia/Tokyo")));
+        assertEquals("2024-04-14, 03:00PM", DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDDHHMMA, time, Locale.US,
+                TimeZone.getTimeZone("UTC")));
+    }
+
+    @Test
+    public void parseDate_shouldReadWallTimeInGivenZone() {
+        // Partition: explicit locale and time zone
+        long utc = DateHelper.parseDate("14-Apr-2024", DateFormats.D_DDMMYYYY_N, Locale.US, TimeZone.getTimeZone("UTC"));
+        long tokyo = DateHelper.parseDate("14-Apr-2024", DateFormats.D_DDMMYYYY_N, Locale.US,
+                TimeZone.getTimeZone("Asia/Tokyo"));
+        assertEquals(1713052800000L, utc);
+        assertEquals(utc - TimeUnit.HOURS.toMillis(9), tokyo);
+    }
+
+    @Test
+    public void parseDate_shouldFail_whenMonthNameNotInGivenLocale() {
+        // Partition: explicit locale whose month names differ
+        DateParseResult result = new DateParseResult();
+        assertFalse(DateHelper.parseDate("14-May-2024", DateFormats.D_DDMMYYYY_N, Locale.FRANCE,
+                TimeZone.getTimeZone("UTC"), result));
+        assertTrue(DateHelper.parseDate("14-mai-2024", DateFormats.D_DDMMYYYY_N, Locale.FRANCE,
+                TimeZone.getTimeZone("UTC"), result));
+    }
+
+    @Test
+    public void defaultZoneOverloads_shouldFollowDefaultZoneChange_immediately() {
+        // Partition: default-zone overloads called right after TimeZone.setDefault and onTimeZoneChanged
+        TimeZone original = TimeZone.getDefault();
+        long time = 1713106800000L; // 2024-04-14T15:00:00Z
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            DateHelper.onTimeZoneChanged();
+            assertEquals(1713067200000L, DateHelper.parseDate("2024-04-14", DateFormats.D_YYYYMMDD));
+            assertEquals("2024-04-14, 11:00AM", DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDDHHMMA, time));
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DateHelper.onTimeZoneChanged();
+            assertEquals(1713020400000L, DateHelper.parseDate("2024-04-14", DateFormats.D_YYYYMMDD));
+            assertEquals("2024-04-15, 12:00AM", DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDDHHMMA, time));
+        } finally {
+            TimeZone.setDefault(original);
+            DateHelper.onTimeZoneChanged();
+        }
+    }
+
+    @Test
+    public void getLocalTime_shouldMatchLenientCalendar_inDefaultZone() {
+        // Partition: plain wall time, rolled-over fields, DST gap and overlap
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            DateHelper.onTimeZoneChanged();
+            int[][] cases = {{2024, 4, 14, 11, 0, 0}, {2024, 13, 32, 25, 61, 61}, {2024, 0, 1, 0, 0, 0},
+                    {2024, 3, 10, 2, 30, 0}, {2024, 11, 3, 1, 30, 0}};
+            for (int[] c : cases) {
+                Calendar cal = Calendar.getInstance();
+                cal.clear();
+                cal.set(c[0], c[1] - 1, c[2], c[3], c[4], c[5]);
+                assertEquals(Arrays.toString(c), cal.getTimeInMillis(),
+                        DateHelper.getLocalTime(c[0], c[1], c[2], c[3], c[4], c[5]));
+            }
+        } finally {
+            TimeZone.setDefault(original);
+            DateHelper.onTimeZoneChanged();
+        }
+    }
+
+    @Test
+    public void getLocalNow_shouldMapBackToCurrentTime() {
+        // Partition: current wall time in the default zone
+        long before = System.currentTimeMillis() / 1000 * 1000;
+        int[] now = DateHelper.getLocalNow();
+        long after = System.currentTimeMillis();
+        assertEquals(6, now.length);
+        long time = DateHelper.getLocalTime(now[0], now[1], now[2], now[3], now[4], now[5]);
+        assertTrue(time >= before && time <= after);
+    }
+}
@@ -0,0 +1,100 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the background warm-up.
+ */
+public class DateHelperWarmUpTest {
+
+    @After
+    public void tearDown() {
+        DateHelperMetrics.setEnabled(false);
+        DateHelperMetrics.reset();
+        DateHelper.setBackend(DateHelper.Backend.SIMPLE_DATE_FORMAT);
+    }
+
+    // Partition: all formats, default background thread
+    @Test
+    public void start_shouldWarmEveryFormat_onBackgroundThread() throws Exception {
+        Future<DateHelperWarmUp.Stats> future = DateHelperWarmUp.start();
+        DateHelperWarmUp.Stats stats = future.get(30, TimeUnit.SECONDS);
+        assertTrue(future.isDone());
+        assertEquals(DateFormats.values().length, stats.getFormatCount());
+        assertTrue(stats.getQueuedNanos() >= 0);
+        assertTrue(stats.getTotalNanos() >= stats.getClassesNanos() + stats.getSymbolsNanos() + stats.getZoneNanos()
+                + stats.getFormatsNanos());
+        assertTrue(stats.toString().startsWith("Stats{formats=" + DateFormats.values().length + ","));
+    }
+
+    // Partition: chosen formats, caller's executor, either backend
+    @Test
+    public void start_shouldRunOnGivenExecutor_withChosenFormats() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        };
+        for (DateHelper.Backend backend : DateHelper.Backend.values()) {
+            DateHelper.setBackend(backend);
+            tasks.clear();
+            Future<DateHelperWarmUp.Stats> future = DateHelperWarmUp.start(
+                    EnumSet.of(DateFormats.D_YYYYMMDD, DateFormats.S_DDMMYYYYHHMMSSA_N), executor);
+            assertFalse(future.isDone());
+            assertEquals(1, tasks.size());
+            tasks.get(0).run();
+            assertEquals(backend.name(), 2, future.get().getFormatCount());
+        }
+    }
+
+    // Partition: no formats still warms the prettifyDate patterns
+    @Test
+    public void start_shouldAcceptEmptySet() throws Exception {
+        DateHelperWarmUp.Stats stats = DateHelperWarmUp.start(Collections.<DateFormats>emptySet()).get(30, TimeUnit.SECONDS);
+        assertEquals(0, stats.getFormatCount());
+    }
+
+    // Partition: metrics enabled, prettify cache untouched
+    @Test
+    public void start_shouldNotRecordMetrics_orFillPrettifyCache() throws Exception {
+        PrettifyCache.clear();
+        DateHelperMetrics.setEnabled(true);
+        DateHelperWarmUp.start().get(30, TimeUnit.SECONDS);
+        assertTrue(DateHelperMetrics.snapshot().isEmpty());
+        assertEquals(0, PrettifyCache.hitCount() + PrettifyCache.missCount());
+    }
+
+    // Partition: a failing executor task completes the future exceptionally
+    @Test
+    public void start_shouldReportFailure_throughFuture() throws InterruptedException {
+        Future<DateHelperWarmUp.Stats> future = DateHelperWarmUp.start(Collections.<DateFormats>singleton(null),
+                new Executor() {
+                    @Override
+                    public void execute(Runnable task) {
+                        task.run();
+                    }
+                });
+        try {
+            future.get();
+            fail("null format should fail the warm-up");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+}
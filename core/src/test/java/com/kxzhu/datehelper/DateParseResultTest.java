@@ -0,0 +1,83 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the non-throwing parseDate(String, DateFormats, DateParseResult) API.
+ */
+public class DateParseResultTest {
+
+    private final DateParseResult result = new DateParseResult();
+
+    @Test
+    public void parseDate_shouldReportTimeAndIndex_whenFormatMatches() {
+        assertTrue(DateHelper.parseDate("14-Apr-2025 trailing", DateFormats.D_DDMMYYYY_N, result));
+        assertTrue(result.isSuccess());
+        assertEquals(DateHelper.parseDate("14-Apr-2025", DateFormats.D_DDMMYYYY_N), result.getTime());
+        assertEquals(11, result.getIndex());
+        assertEquals(DateParseResult.ERROR_NONE, result.getErrorCode());
+        assertEquals(-1, result.getErrorIndex());
+    }
+
+    @Test
+    public void parseDate_shouldReportMismatchOffset_whenSeparatorDiffers() {
+        // Partition: slash where the pattern expects a dash
+        assertFalse(DateHelper.parseDate("14/04/2025", DateFormats.D_DDMMYYYY, result));
+        assertEquals(DateParseResult.ERROR_MISMATCH, result.getErrorCode());
+        assertEquals(2, result.getErrorIndex());
+        assertEquals(0L, result.getTime());
+    }
+
+    @Test
+    public void parseDate_shouldReportEndOfInput_whenTextIsTruncated() {
+        assertFalse(DateHelper.parseDate("14/04/25, 10:", DateFormats.S_DDMMyyHHMMA, result));
+        assertEquals(DateParseResult.ERROR_END_OF_INPUT, result.getErrorCode());
+        assertEquals(13, result.getErrorIndex());
+    }
+
+    @Test
+    public void parseDate_shouldReportNullInput_whenTextIsNull() {
+        assertFalse(DateHelper.parseDate(null, DateFormats.S_DDMMYYYY, result));
+        assertEquals(DateParseResult.ERROR_NULL_INPUT, result.getErrorCode());
+    }
+
+    @Test
+    public void parseDate_shouldOverwritePreviousOutcome_whenResultIsReused() {
+        assertFalse(DateHelper.parseDate("bad-string", DateFormats.D_YYYYMMDD, result));
+        assertTrue(DateHelper.parseDate("2025-04-14", DateFormats.D_YYYYMMDD, result));
+        assertEquals(DateParseResult.ERROR_NONE, result.getErrorCode());
+        assertEquals(-1, result.getErrorIndex());
+    }
+
+    @Test
+    public void newResult_shouldReportNotParsed() {
+        DateParseResult fresh = new DateParseResult();
+        assertFalse(fresh.isSuccess());
+        assertEquals(DateParseResult.ERROR_NOT_PARSED, fresh.getErrorCode());
+        assertEquals(0L, fresh.getTime());
+    }
+
+    @Test
+    public void parseDate_shouldNotAllocate_onSuccessOrFailure() {
+        // Partition: matching text, mismatch, truncated text, null text
+        final String[] texts = {"14-Apr-2025, 10:30AM", "14-Foo-2025, 10:30AM", "14-Apr-2025, 10:", null};
+        for (final String text : texts) {
+            assertEquals(text, 0, Allocations.perCall(new Runnable() {
+                @Override
+                public void run() {
+                    DateHelper.parseDate(text, DateFormats.D_DDMMYYYYHHMMA_N, result);
+                }
+            }));
+        }
+        assertFalse(result.isSuccess());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void parseDate_shouldThrowNPE_whenNullFormat() {
+        DateHelper.parseDate("14/04/2025", null, result);
+    }
+}
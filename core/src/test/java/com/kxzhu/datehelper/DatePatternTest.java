@@ -0,0 +1,173 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the hand-written DateFormats parser, checked against SimpleDateFormat.
+ */
+public class DatePatternTest {
+
+    // Input_String and Parse_Format values from DateHelperParseModel.txt, plus lenient and mixed-case inputs
+    private static final String[] INPUTS = {
+            "2025-04-14", "14/04/25, 10:00AM", "14-Apr-2025", "15:30", "yy-MM-dd", "bad-string",
+            "18-apr-2025", "2024-Apr-14, 04:15:30PM", "24/Apr/14, 11:00AM", "31-Feb-2024", "2025-4-1",
+            " 2025- 4- 1", "2025-04-14, 10:00AM", "12:00AM", "12:30pm", "13:00PM", "99-99-99", "", "14/04/2025, 10:00 AM"
+    };
+
+    private final DateParseResult result = new DateParseResult();
+
+    @Test
+    public void parse_shouldMatchSimpleDateFormat_forEveryFormatAndInput() {
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        for (DateFormats format : DateFormats.values()) {
+            SimpleDateFormat sdf = new SimpleDateFormat(format.getDateFormat(), Locale.getDefault());
+            for (String input : INPUTS) {
+                DatePattern.of(format).parse(input, 0, input.length(), symbols, DayClock.today().zone,
+                        FormatterCache.centuryStartYear(), result);
+                if (result.status == DateParseResult.UNSUPPORTED) {
+                    continue;
+                }
+                ParsePosition position = new ParsePosition(0);
+                Date expected = sdf.parse(input, position);
+                String message = format + " [" + input + "]";
+                if (expected == null) {
+                    assertEquals(message, DateParseResult.FAILED, result.status);
+                    assertEquals(message, position.getErrorIndex(), result.errorIndex);
+                } else {
+                    assertEquals(message, DateParseResult.OK, result.status);
+                    assertEquals(message, expected.getTime(), result.time);
+                    assertEquals(message, position.getIndex(), result.index);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parse_shouldReportUnsupported_forNegativeNumbers() {
+        DatePattern.of(DateFormats.D_YYMMDD).parse("24--04-14", 0, 9, DateSymbols.of(Locale.US),
+                DayClock.today().zone, FormatterCache.centuryStartYear(), result);
+        assertEquals(DateParseResult.UNSUPPORTED, result.status);
+    }
+
+    @Test
+    public void parseDate_shouldMatchSimpleDateFormat_forYearBeforeGregorianCutover() throws Exception {
+        // Partition: handed back to SimpleDateFormat
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+        assertEquals(sdf.parse("1500-03-01").getTime(), DateHelper.parseDate("1500-03-01", DateFormats.D_YYYYMMDD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_shouldRejectUnsupportedLetters() {
+        DatePattern.compile("yyyy-MM-dd'T'HH:mm");
+    }
+
+    @Test
+    public void format_shouldMatchSimpleDateFormat_forEveryFormat() {
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        char[] out = new char[64];
+        long[] times = {0L, 1713052800000L, 1713106800000L, 951782400000L, 4102444799999L, -1000000000000L};
+        for (DateFormats format : DateFormats.values()) {
+            SimpleDateFormat sdf = new SimpleDateFormat(format.getDateFormat(), Locale.getDefault());
+            for (long time : times) {
+                int length = DatePattern.of(format).format(time, DayClock.today().zone, symbols, out);
+                assertEquals(format + " " + time, sdf.format(new Date(time)), new String(out, 0, length));
+            }
+        }
+    }
+
+    @Test
+    public void format_shouldLeaveJulianDatesToSimpleDateFormat() {
+        long year1500 = -14831769600000L;
+        assertEquals(-1, DatePattern.of(DateFormats.D_YYYYMMDD).format(year1500, DayClock.today().zone,
+                DateSymbols.of(Locale.getDefault()), new char[64]));
+    }
+
+    // Partition: fixed-width numeric patterns against everything else
+    @Test
+    public void compile_shouldBuildFixedLayout_forFixedWidthNumericPatternsOnly() {
+        assertTrue(DatePattern.of(DateFormats.D_YYYYMMDD).hasFixedLayout());
+        assertTrue(DatePattern.of(DateFormats.S_DDMMYYYY).hasFixedLayout());
+        assertTrue(DatePattern.of(DateFormats.D_YYYYMMDDHHMMSSA).hasFixedLayout());
+        assertTrue(DatePattern.of(DateFormats.HHMM).hasFixedLayout());
+        assertFalse(DatePattern.of(DateFormats.D_DDMMYYYY_N).hasFixedLayout());
+        assertFalse(DatePattern.compile("yyyy-M-dd").hasFixedLayout());
+        assertFalse(DatePattern.compile("yyyyMMdd").hasFixedLayout());
+        assertFalse(DatePattern.compile("yyyy-MM-dd1").hasFixedLayout());
+    }
+
+    // Partition: String input copied to bytes, from an offset and with a char whose low byte is a digit
+    @Test
+    public void parse_shouldReadStringInFixedLayout_fromOffset_andRejectWideChars() {
+        DateSymbols symbols = DateSymbols.of(Locale.US);
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        DatePattern pattern = DatePattern.of(DateFormats.D_YYYYMMDD);
+        String text = "on 2024-04-14, 10:30";
+        pattern.parse(text, 3, text.length(), symbols, utc, FormatterCache.centuryStartYear(), result);
+        assertEquals(DateParseResult.OK, result.status);
+        assertEquals(1713052800000L, result.time);
+        assertEquals(13, result.index);
+        // U+0134 ends in 0x34, the byte of '4'
+        String wide = "2024-0\u0134-14";
+        pattern.parse(wide, 0, wide.length(), symbols, utc, FormatterCache.centuryStartYear(), result);
+        assertNotEquals(DateParseResult.OK, result.status);
+    }
+
+    // Partition: canonical and nearly canonical text, as String, byte array and big-endian direct buffer
+    @Test
+    public void parse_shouldMatchSimpleDateFormat_forFixedLayoutInput() {
+        Locale locale = Locale.getDefault();
+        DateSymbols symbols = DateSymbols.of(locale);
+        Random random = new Random(5);
+        String noise = "0123456789-/:, APMx";
+        for (DateFormats format : DateFormats.values()) {
+            DatePattern pattern = DatePattern.of(format);
+            if (!pattern.hasFixedLayout()) {
+                continue;
+            }
+            SimpleDateFormat sdf = new SimpleDateFormat(format.getDateFormat(), locale);
+            for (int i = 0; i < 2000; i++) {
+                char[] chars = sdf.format(new Date(random.nextLong() % 4000000000000L)).toCharArray();
+                if (random.nextBoolean()) {
+                    chars[random.nextInt(chars.length)] = noise.charAt(random.nextInt(noise.length()));
+                }
+                String input = new String(chars) + (random.nextInt(4) == 0 ? "7" : "");
+                byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+                buffer.put(bytes);
+                CharSequence[] texts = {input, new StringBuilder(input), new AsciiSequence().reset(bytes, 0, bytes.length),
+                        new AsciiSequence().reset(buffer, 0, bytes.length)};
+                for (CharSequence text : texts) {
+                    pattern.parse(text, 0, text.length(), symbols, DayClock.today().zone,
+                            FormatterCache.centuryStartYear(), result);
+                    if (result.status == DateParseResult.UNSUPPORTED) {
+                        continue;
+                    }
+                    ParsePosition position = new ParsePosition(0);
+                    Date expected = sdf.parse(input, position);
+                    String message = format + " [" + input + "]";
+                    if (expected == null) {
+                        assertEquals(message, DateParseResult.FAILED, result.status);
+                        assertEquals(message, position.getErrorIndex(), result.errorIndex);
+                    } else {
+                        assertEquals(message, DateParseResult.OK, result.status);
+                        assertEquals(message, expected.getTime(), result.time);
+                        assertEquals(message, position.getIndex(), result.index);
+                    }
+                }
+            }
+        }
+    }
+}
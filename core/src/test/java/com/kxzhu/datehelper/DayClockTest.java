@@ -0,0 +1,106 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the shared day-boundary clock.
+ */
+public class DayClockTest {
+
+    @Test
+    public void isToday_shouldMatchCalendarDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+
+        assertTrue(DayClock.isToday(System.currentTimeMillis()));
+        assertTrue(DayClock.isToday(start));
+        assertFalse(DayClock.isToday(start - 1));
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        assertFalse(DayClock.isToday(calendar.getTimeInMillis()));
+        assertTrue(DayClock.isToday(calendar.getTimeInMillis() - 1));
+    }
+
+    @Test
+    public void noon_shouldFallInsideRequestedDay() {
+        // Partition: today, tomorrow, past and far future offsets
+        for (int days : new int[]{0, 1, -3, 400}) {
+            Calendar expected = Calendar.getInstance();
+            expected.add(Calendar.DAY_OF_MONTH, days);
+            Calendar actual = Calendar.getInstance();
+            actual.setTimeInMillis(DayClock.noon(days));
+            assertEquals(expected.get(Calendar.YEAR), actual.get(Calendar.YEAR));
+            assertEquals(expected.get(Calendar.DAY_OF_YEAR), actual.get(Calendar.DAY_OF_YEAR));
+            assertEquals(12, actual.get(Calendar.HOUR_OF_DAY));
+        }
+    }
+
+    @Test
+    public void today_shouldFollowTimeZoneChange() {
+        TimeZone original = TimeZone.getDefault();
+        DayClock.today();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            DayClock.reset();
+            DayClock.Day day = DayClock.today();
+            assertEquals("Pacific/Kiritimati", day.zone.getID());
+            assertEquals(day.start + EpochCalendar.DAY_MILLIS, day.end);
+            assertEquals(0, (day.start + 14 * 60 * 60 * 1000) % EpochCalendar.DAY_MILLIS);
+        } finally {
+            TimeZone.setDefault(original);
+            DayClock.reset();
+        }
+        assertEquals(original.getID(), DayClock.today().zone.getID());
+    }
+
+    @Test
+    public void today_shouldFollowCustomZone_reusingKnownId() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DayClock.reset();
+            assertEquals(9 * 60 * 60 * 1000, DayClock.today().zone.getRawOffset());
+            TimeZone.setDefault(new SimpleTimeZone(0, "Asia/Tokyo"));
+            DayClock.reset();
+            assertEquals(0, DayClock.today().zone.getRawOffset());
+        } finally {
+            TimeZone.setDefault(original);
+            DayClock.reset();
+        }
+    }
+
+    // Partition: repeated reads within the day and between zone checks
+    @Test
+    public void today_shouldNotAllocate() {
+        assertEquals(0, Allocations.perCall(new Runnable() {
+            @Override
+            public void run() {
+                DayClock.today();
+            }
+        }));
+    }
+
+    // Partition: zone change without reset, picked up by the periodic check
+    @Test
+    public void today_shouldFollowTimeZoneChange_withinZoneCheck() throws InterruptedException {
+        TimeZone original = TimeZone.getDefault();
+        DayClock.today();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            Thread.sleep(DayClock.ZONE_CHECK_MILLIS + 10);
+            assertEquals("Pacific/Kiritimati", DayClock.today().zone.getID());
+        } finally {
+            TimeZone.setDefault(original);
+            DayClock.reset();
+        }
+    }
+}
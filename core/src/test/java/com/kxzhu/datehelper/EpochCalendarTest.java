@@ -0,0 +1,69 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the epoch-day calendar arithmetic, checked against GregorianCalendar.
+ */
+public class EpochCalendarTest {
+
+    @Test
+    public void civilFromDays_shouldInvertDaysFromCivil() {
+        for (long day = -800000; day <= 800000; day += 37) {
+            long civil = EpochCalendar.civilFromDays(day);
+            assertEquals(day, EpochCalendar.daysFromCivil(EpochCalendar.year(civil), EpochCalendar.month(civil),
+                    EpochCalendar.day(civil)));
+        }
+    }
+
+    @Test
+    public void civilFromDays_shouldMatchGregorianCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        for (long day = -100000; day <= 100000; day += 13) {
+            calendar.setTimeInMillis(day * EpochCalendar.DAY_MILLIS);
+            long civil = EpochCalendar.civilFromDays(day);
+            assertEquals(calendar.get(Calendar.YEAR), EpochCalendar.year(civil));
+            assertEquals(calendar.get(Calendar.MONTH) + 1, EpochCalendar.month(civil));
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), EpochCalendar.day(civil));
+        }
+    }
+
+    @Test
+    public void toLocal_shouldRollOverLikeLenientCalendar() {
+        // Partition: day past month end and hour past midnight
+        assertEquals(EpochCalendar.toLocal(2025, 3, 3, 1, 0, 0), EpochCalendar.toLocal(2025, 2, 30, 25, 0, 0));
+    }
+
+    @Test
+    public void resolve_shouldMatchCalendar_nearTransitions() {
+        // Partition: Sao Paulo skipped midnight on 2018-11-04; New York repeats 01:00-02:00 on 2024-11-03
+        String[] zones = {"America/Sao_Paulo", "America/New_York", "Europe/London", "UTC"};
+        long[][] wallTimes = {{2018, 11, 4, 0, 0}, {2018, 11, 4, 0, 30}, {2024, 11, 3, 1, 30}, {2024, 3, 31, 1, 30},
+                {2024, 6, 1, 12, 0}};
+        for (String id : zones) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            GregorianCalendar calendar = new GregorianCalendar(zone);
+            for (long[] wall : wallTimes) {
+                calendar.clear();
+                calendar.set((int) wall[0], (int) wall[1] - 1, (int) wall[2], (int) wall[3], (int) wall[4]);
+                long local = EpochCalendar.toLocal(wall[0], (int) wall[1], (int) wall[2], wall[3], wall[4], 0);
+                assertEquals(id + " " + local, calendar.getTimeInMillis(), EpochCalendar.resolve(local, zone));
+            }
+        }
+    }
+
+    @Test
+    public void toEpochMillis_shouldLeaveTransitionDaysUnresolved() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        long local = EpochCalendar.toLocal(2024, 11, 3, 1, 30, 0);
+        assertEquals(EpochCalendar.UNRESOLVED, EpochCalendar.toEpochMillis(local, newYork));
+        local = EpochCalendar.toLocal(2024, 6, 1, 12, 0, 0);
+        assertEquals(local + 4 * 60 * 60 * 1000, EpochCalendar.toEpochMillis(local, newYork));
+    }
+}
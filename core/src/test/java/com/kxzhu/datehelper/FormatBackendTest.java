@@ -0,0 +1,176 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for switching DateHelper between the SimpleDateFormat and java.time backends.
+ */
+public class FormatBackendTest {
+
+    private static final long[] TIMES = {0L, 1713052800000L, 1713106800000L, 951782400000L, 1735689599000L};
+
+    @After
+    public void tearDown() {
+        DateHelper.setBackend(DateHelper.Backend.SIMPLE_DATE_FORMAT);
+    }
+
+    @Test
+    public void setBackend_shouldSwitchBackend() {
+        assertEquals(DateHelper.Backend.SIMPLE_DATE_FORMAT, DateHelper.getBackend());
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        assertEquals(DateHelper.Backend.JAVA_TIME, DateHelper.getBackend());
+    }
+
+    @Test
+    public void javaTime_shouldFormatLikeSimpleDateFormat_forEveryFormat() {
+        String[][] expected = new String[DateFormats.values().length][TIMES.length];
+        for (DateFormats format : DateFormats.values()) {
+            for (int i = 0; i < TIMES.length; i++) {
+                expected[format.ordinal()][i] = DateHelper.getDesiredFormat(format, TIMES[i]);
+            }
+        }
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        for (DateFormats format : DateFormats.values()) {
+            for (int i = 0; i < TIMES.length; i++) {
+                assertEquals(format + " " + TIMES[i], expected[format.ordinal()][i],
+                        DateHelper.getDesiredFormat(format, TIMES[i]));
+            }
+        }
+    }
+
+    @Test
+    public void javaTime_shouldParseFormattedText_backToSameMinute() {
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        for (DateFormats format : DateFormats.values()) {
+            for (long time : TIMES) {
+                String text = DateHelper.getDesiredFormat(format, time);
+                long parsed = DateHelper.parseDate(text, format);
+                assertEquals(format + " " + text, text, DateHelper.getDesiredFormat(format, parsed));
+            }
+        }
+    }
+
+    @Test
+    public void javaTime_shouldAcceptLenientInput_likeSimpleDateFormat() {
+        // Partition: lower-case names, single-digit fields, day past month end
+        String[] inputs = {"18-apr-2025", "2025-4-1", "31-Feb-2024", "12:30pm"};
+        DateFormats[] formats = {DateFormats.D_DDMMYYYY_N, DateFormats.D_YYYYMMDD, DateFormats.D_DDMMYYYY_N,
+                DateFormats.HHMMA};
+        long[] expected = new long[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            expected[i] = DateHelper.parseDate(inputs[i], formats[i]);
+        }
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(inputs[i], expected[i], DateHelper.parseDate(inputs[i], formats[i]));
+        }
+    }
+
+    @Test
+    public void javaTime_shouldReportFailure_withoutThrowing() {
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        DateParseResult result = new DateParseResult();
+        assertFalse(DateHelper.parseDate("14/04/2025", DateFormats.D_DDMMYYYY, result));
+        assertEquals(DateParseResult.ERROR_MISMATCH, result.getErrorCode());
+        assertEquals(2, result.getErrorIndex());
+        assertFalse(DateHelper.parseDate("14/04/25, 10:", DateFormats.S_DDMMyyHHMMA, result));
+        assertEquals(DateParseResult.ERROR_END_OF_INPUT, result.getErrorCode());
+    }
+
+    @Test
+    public void javaTime_shouldPlaceBoundaryTwoDigitYear_likeSimpleDateFormat() {
+        // Partition: first year of the century window, before and after the day 80 years back
+        Calendar start = Calendar.getInstance();
+        start.add(Calendar.YEAR, -80);
+        String yy = String.format(Locale.US, "%02d", start.get(Calendar.YEAR) % 100);
+        String[] inputs = {"01-01-" + yy, "31-12-" + yy};
+        long[] expected = new long[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            expected[i] = DateHelper.parseDate(inputs[i], DateFormats.D_DDMMyy);
+        }
+        Calendar parsed = Calendar.getInstance();
+        parsed.setTimeInMillis(expected[0]);
+        assertEquals(start.get(Calendar.YEAR) + 100, parsed.get(Calendar.YEAR));
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(inputs[i], expected[i], DateHelper.parseDate(inputs[i], DateFormats.D_DDMMyy));
+        }
+    }
+
+    @Test
+    public void javaTime_shouldMatchSimpleDateFormat_beforeGregorianCutover() {
+        // Partition: Julian dates, local mean time before standard zones
+        String[] inputs = {"1500-03-01", "1582-10-04", "1850-06-15"};
+        long[] expected = new long[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            expected[i] = DateHelper.parseDate(inputs[i], DateFormats.D_YYYYMMDD);
+        }
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(inputs[i], expected[i], DateHelper.parseDate(inputs[i], DateFormats.D_YYYYMMDD));
+            assertEquals(inputs[i], DateHelper.getDesiredFormat(DateFormats.D_YYYYMMDD, expected[i]));
+        }
+    }
+
+    @Test
+    public void javaTime_shouldRejectTruncatedNames_likeSimpleDateFormat() {
+        // Partition: one-letter AM/PM marker and month name, full month name
+        DateParseResult result = new DateParseResult();
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        assertFalse(DateHelper.parseDate("10:30P", DateFormats.HHMMA, result));
+        assertFalse(DateHelper.parseDate("14-A-2024", DateFormats.D_DDMMYYYY_N, result));
+        assertTrue(DateHelper.parseDate("14-April-2024", DateFormats.D_DDMMYYYY_N, result));
+        assertEquals(DateHelper.parseDate("14-Apr-2024", DateFormats.D_DDMMYYYY_N), result.getTime());
+    }
+
+    @Test
+    public void javaTime_shouldRejectBlankBeforeField_unlikeSimpleDateFormat() {
+        // Partition: documented difference, blanks before a field
+        DateParseResult result = new DateParseResult();
+        assertTrue(DateHelper.parseDate(" 2025-04-14", DateFormats.D_YYYYMMDD, result));
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        assertFalse(DateHelper.parseDate(" 2025-04-14", DateFormats.D_YYYYMMDD, result));
+    }
+
+    @Test
+    public void javaTime_shouldParseFourDigitYear_atCenturyStart() {
+        // Partition: four-digit year equal to the first year of the two-digit-year window
+        String date = FormatterCache.centuryStartYear() + "-04-14";
+        long expected = DateHelper.parseDate(date, DateFormats.D_YYYYMMDD);
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        assertEquals(expected, DateHelper.parseDate(date, DateFormats.D_YYYYMMDD));
+    }
+
+    @Test
+    public void twoDigitYear_shouldMatchYyFieldOnly() {
+        // Partition: two-digit, four-digit and no year field; only the first is handed to SimpleDateFormat
+        assertTrue(JavaTimeFormatBackend.twoDigitYear("dd/MM/yy, hh:mma"));
+        assertTrue(JavaTimeFormatBackend.twoDigitYear("yy-MMM-dd"));
+        assertFalse(JavaTimeFormatBackend.twoDigitYear("yyyy-MM-dd"));
+        assertFalse(JavaTimeFormatBackend.twoDigitYear("hh:mm"));
+    }
+
+    @Test
+    public void javaTime_shouldStopAtRangeEnd_likeSimpleDateFormat() {
+        // Partition: range ending before the text does, digits right after it
+        String text = "2024-04-145 and more";
+        DateSymbols symbols = DateSymbols.of(Locale.getDefault());
+        DateParseResult expected = new DateParseResult();
+        assertTrue(DateHelper.parseDate(text, 0, 10, DateFormats.D_YYYYMMDD, symbols, DayClock.today().zone, expected));
+        DateHelper.setBackend(DateHelper.Backend.JAVA_TIME);
+        DateParseResult result = new DateParseResult();
+        assertTrue(DateHelper.parseDate(text, 0, 10, DateFormats.D_YYYYMMDD, symbols, DayClock.today().zone, result));
+        assertEquals(expected.getTime(), result.getTime());
+        assertEquals(10, result.getIndex());
+        assertFalse(DateHelper.parseDate(text, 0, 8, DateFormats.D_YYYYMMDD, symbols, DayClock.today().zone, result));
+        assertEquals(DateParseResult.ERROR_END_OF_INPUT, result.getErrorCode());
+    }
+}
@@ -0,0 +1,54 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the shape-based format detection behind parseAnyDate.
+ */
+public class FormatDetectorTest {
+
+    private static final long TIMESTAMP = 1713124800000L;
+
+    @Test
+    public void candidates_shouldContainFormat_forItsOwnOutput() {
+        // Partition: every DateFormats constant, formatted then detected
+        for (DateFormats format : DateFormats.values()) {
+            String text = DateHelper.getDesiredFormat(format, TIMESTAMP);
+            List<DateFormats> candidates = Arrays.asList(FormatDetector.candidates(text, 0, text.length()));
+            assertTrue(format + " [" + text + "]", candidates.contains(format));
+            assertTrue(format + " [" + text + "]", candidates.size() <= 2);
+        }
+    }
+
+    @Test
+    public void candidates_shouldListAmbiguousFormats_inDeclarationOrder() {
+        // Partition: two-digit year, year-first and day-first both fit
+        DateFormats[] candidates = FormatDetector.candidates("14/04/25", 0, 8);
+        assertArrayEquals(new DateFormats[]{DateFormats.S_YYMMDD, DateFormats.S_DDMMyy}, candidates);
+    }
+
+    @Test
+    public void candidates_shouldBeEmpty_whenNoShapeMatches() {
+        // Partition: free text and single-digit fields
+        assertEquals(0, FormatDetector.candidates("This is not a date", 0, 18).length);
+        assertEquals(0, FormatDetector.candidates("2025-4-1", 0, 8).length);
+    }
+
+    @Test
+    public void parseAnyDate_shouldUseFirstCandidate_forAmbiguousInput() {
+        assertEquals(DateHelper.parseDate("14/04/25", DateFormats.S_YYMMDD), DateHelper.parseAnyDate("14/04/25"));
+    }
+
+    @Test
+    public void parseAnyDate_shouldFallBackToLenientParse_whenShapeIsUnknown() {
+        // Partition: single-digit fields only parse leniently
+        assertEquals(DateHelper.parseDate("2025-4-1", DateFormats.D_YYYYMMDD), DateHelper.parseAnyDate("2025-4-1"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the per-thread SimpleDateFormat cache behind DateHelper.
+ */
+public class FormatterCacheTest {
+
+    private static final String HHMM = DateFormats.HHMM.getDateFormat();
+
+    @Test
+    public void get_shouldReuseFormatter_onSameThread() {
+        SimpleDateFormat first = FormatterCache.get(DateFormats.D_YYYYMMDD.getDateFormat(), Locale.US);
+        assertSame(first, FormatterCache.get(DateFormats.D_YYYYMMDD.getDateFormat(), Locale.US));
+        assertEquals("yyyy-MM-dd", first.toPattern());
+    }
+
+    @Test
+    public void get_shouldSeparateFormatters_perLocaleAndPattern() {
+        SimpleDateFormat us = FormatterCache.get(DateFormats.D_DDMMYYYY_N.getDateFormat(), Locale.US);
+        SimpleDateFormat fr = FormatterCache.get(DateFormats.D_DDMMYYYY_N.getDateFormat(), Locale.FRANCE);
+        assertNotSame(us, fr);
+        assertNotSame(us, FormatterCache.get(DateFormats.D_DDMMyy_N.getDateFormat(), Locale.US));
+        assertSame(FormatterCache.get("hh:mm a", Locale.US), FormatterCache.get("hh:mm a", Locale.US));
+    }
+
+    @Test
+    public void get_shouldNotShareFormatters_acrossThreads() throws InterruptedException {
+        final SimpleDateFormat mine = FormatterCache.get(DateFormats.S_DDMMYYYY.getDateFormat(), Locale.US);
+        final AtomicReference<SimpleDateFormat> other = new AtomicReference<>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                other.set(FormatterCache.get(DateFormats.S_DDMMYYYY.getDateFormat(), Locale.US));
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(mine, other.get());
+    }
+
+    @Test
+    public void get_shouldSeparateFormatters_perZone() {
+        TimeZone tokyo = TimeZone.getTimeZone("Asia/Tokyo");
+        SimpleDateFormat utc = FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("UTC"));
+        SimpleDateFormat local = FormatterCache.get(HHMM, Locale.US, tokyo);
+        assertNotSame(utc, local);
+        assertEquals("Asia/Tokyo", local.getTimeZone().getID());
+        // an equal zone looked up again is the same combination
+        assertSame(local, FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("Asia/Tokyo")));
+    }
+
+    @Test
+    public void get_shouldEvictLeastRecentlyUsedCombination() {
+        SimpleDateFormat first = FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+1"));
+        SimpleDateFormat second = FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+2"));
+        for (int i = 3; i <= FormatterCache.MAX_SLOTS; i++) {
+            FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+" + i));
+        }
+        // touching the first keeps it; the second is now the least recently used
+        assertSame(first, FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+1")));
+        FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT-1"));
+        assertSame(first, FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+1")));
+        assertNotSame(second, FormatterCache.get(HHMM, Locale.US, TimeZone.getTimeZone("GMT+2")));
+    }
+
+    @Test
+    public void get_shouldDropOldDefaults_whenDefaultLocaleChanges() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            SimpleDateFormat before = FormatterCache.get(DateFormats.HHMMA.getDateFormat(), Locale.US);
+            Locale.setDefault(Locale.FRANCE);
+            FormatterCache.get(DateFormats.HHMMA.getDateFormat(), Locale.FRANCE);
+            assertNotSame(before, FormatterCache.get(DateFormats.HHMMA.getDateFormat(), Locale.US));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    public void get_shouldFollowDefaultZoneChange_onNextCall() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            DayClock.reset();
+            SimpleDateFormat before = FormatterCache.get("HH:mm", Locale.US);
+            assertEquals("America/New_York", before.getTimeZone().getID());
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DayClock.reset();
+            SimpleDateFormat after = FormatterCache.get("HH:mm", Locale.US);
+            assertNotSame(before, after);
+            assertEquals("Asia/Tokyo", after.getTimeZone().getID());
+        } finally {
+            TimeZone.setDefault(original);
+            DayClock.reset();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void get_shouldThrowNPE_whenNullPattern() {
+        FormatterCache.get(null, Locale.US);
+    }
+}
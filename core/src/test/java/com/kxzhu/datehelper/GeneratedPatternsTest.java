@@ -0,0 +1,78 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the build-time generated parsers and formatters, checked against the step loop they replace.
+ */
+public class GeneratedPatternsTest {
+
+    private static final Locale[] LOCALES = {Locale.US, Locale.FRANCE, Locale.GERMANY, Locale.JAPAN};
+
+    // Partition: every format, rendered dates with one char replaced, as generated and as interpreted
+    @Test
+    public void parse_shouldMatchInterpretedPattern_forEveryFormat() {
+        Random random = new Random(9);
+        String noise = "0123456789-/:, APMapr\t";
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        DateParseResult generated = new DateParseResult();
+        DateParseResult interpreted = new DateParseResult();
+        char[] out = new char[64];
+        for (Locale locale : LOCALES) {
+            DateSymbols symbols = DateSymbols.of(locale);
+            for (DateFormats format : DateFormats.values()) {
+                DatePattern interpreter = DatePattern.compile(format.getDateFormat());
+                for (int i = 0; i < 500; i++) {
+                    int length = DatePattern.of(format).format(random.nextLong() % 4000000000000L, zone, symbols, out);
+                    char[] chars = Arrays.copyOf(out, Math.max(length, 0));
+                    if (chars.length > 0 && random.nextBoolean()) {
+                        chars[random.nextInt(chars.length)] = noise.charAt(random.nextInt(noise.length()));
+                    }
+                    String text = " " + new String(chars);
+                    GeneratedPatterns.parse(format, text, 1, text.length(), symbols, zone, 1946, generated);
+                    interpreter.parse(text, 1, text.length(), symbols, zone, 1946, interpreted);
+                    String message = locale + " " + format + " [" + text + "]";
+                    assertEquals(message, interpreted.status, generated.status);
+                    if (interpreted.status != DateParseResult.UNSUPPORTED) {
+                        assertEquals(message, interpreted.toString(), generated.toString());
+                        assertEquals(message, interpreted.getErrorCode(), generated.getErrorCode());
+                    }
+                }
+            }
+        }
+    }
+
+    // Partition: every format, random instants and short buffers
+    @Test
+    public void format_shouldMatchInterpretedPattern_forEveryFormat() {
+        Random random = new Random(10);
+        TimeZone zone = TimeZone.getTimeZone("Asia/Kolkata");
+        for (Locale locale : LOCALES) {
+            DateSymbols symbols = DateSymbols.of(locale);
+            for (DateFormats format : DateFormats.values()) {
+                DatePattern interpreter = DatePattern.compile(format.getDateFormat());
+                for (int i = 0; i < 200; i++) {
+                    long time = random.nextLong() % 4000000000000L;
+                    int size = random.nextInt(4) == 0 ? random.nextInt(12) : 64;
+                    char[] expected = new char[size];
+                    char[] actual = new char[size];
+                    int length = interpreter.format(time, zone, symbols, expected);
+                    String message = locale + " " + format + " " + time;
+                    assertEquals(message, length, DatePattern.of(format).format(time, zone, symbols, actual));
+                    if (length >= 0) {
+                        assertEquals(message, new String(expected, 0, length), new String(actual, 0, length));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+import com.kxzhu.datehelper.DateHelper.DateFormats;
+
+/**
+ * Unit tests for the case-insensitive month and AM/PM name trie.
+ */
+public class NameTrieTest {
+
+    // Partition: exact, lower and upper case abbreviations
+    @Test
+    public void match_shouldIgnoreCase() {
+        DateSymbols symbols = DateSymbols.of(Locale.US);
+        for (String text : new String[]{"Apr", "apr", "APR", "aPr-2025"}) {
+            int match = symbols.monthTrie.match(text, 0, text.length());
+            assertEquals(text, 3, symbols.monthValues[match]);
+        }
+        assertEquals(-1, symbols.monthTrie.match("Ap", 0, 2));
+        assertEquals(-1, symbols.monthTrie.match("xyz", 0, 3));
+    }
+
+    // Partition: a full name extends an abbreviation
+    @Test
+    public void match_shouldPreferLongestName() {
+        DateSymbols symbols = DateSymbols.of(Locale.US);
+        String text = "september 1";
+        int match = symbols.monthTrie.match(text, 0, text.length());
+        assertEquals("September", symbols.monthNames[match]);
+        // stops at end, not at the end of the text
+        match = symbols.monthTrie.match(text, 0, 4);
+        assertEquals("Sep", symbols.monthNames[match]);
+    }
+
+    // Partition: every locale, random casing and truncation, against a linear scan
+    @Test
+    public void match_shouldAgreeWithLinearScan_forEveryLocale() {
+        Random random = new Random(3);
+        for (Locale locale : Locale.getAvailableLocales()) {
+            DateSymbols symbols = DateSymbols.of(locale);
+            String[][] lists = {symbols.monthNames, symbols.amPmNames};
+            NameTrie[] tries = {symbols.monthTrie, symbols.amPmTrie};
+            for (int list = 0; list < 2; list++) {
+                for (String name : lists[list]) {
+                    StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < name.length(); i++) {
+                        char c = name.charAt(i);
+                        text.append(random.nextBoolean() ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                    }
+                    text.append(" 12");
+                    int end = random.nextInt(text.length() + 1);
+                    assertEquals(locale + " " + text, linearScan(text, end, lists[list]),
+                            tries[list].match(text, 0, end));
+                }
+            }
+        }
+    }
+
+    // Partition: mixed-case feed through the public parser
+    @Test
+    public void parseDate_shouldReadLowerCaseMonth() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        assertEquals(1744934400000L, DateHelper.parseDate("18-apr-2025", DateFormats.D_DDMMYYYY_N, Locale.US, utc));
+        assertEquals(1744934400000L, DateHelper.parseDate("18-APR-2025", DateFormats.D_DDMMYYYY_N, Locale.US, utc));
+    }
+
+    /**
+     * SimpleDateFormat's matchString: longest case-insensitive match, first of equally long ones.
+     */
+    private static int linearScan(CharSequence text, int end, String[] names) {
+        int best = -1;
+        int bestLength = 0;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name.length() > bestLength && name.length() <= end
+                    && text.subSequence(0, name.length()).toString().regionMatches(true, 0, name, 0, name.length())) {
+                best = i;
+                bestLength = name.length();
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kxzhu.datehelper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the minute-keyed prettifyDate cache.
+ */
+public class PrettifyCacheTest {
+
+    private static final long TIME = 1713106800000L;
+
+    @Before
+    public void setUp() {
+        PrettifyCache.clear();
+    }
+
+    @Test
+    public void prettifyDate_shouldHitCache_withinSameMinute() {
+        String first = DateHelper.prettifyDate(TIME);
+        assertEquals(first, DateHelper.prettifyDate(TIME + 59 * 1000));
+        assertEquals(first, DateHelper.prettifyDate(String.valueOf(TIME + 1)));
+        assertEquals(1, PrettifyCache.missCount());
+        assertEquals(2, PrettifyCache.hitCount());
+    }
+
+    @Test
+    public void prettifyDate_shouldMiss_forNextMinute() {
+        DateHelper.prettifyDate(TIME);
+        DateHelper.prettifyDate(TIME + 60 * 1000);
+        assertEquals(2, PrettifyCache.missCount());
+        assertEquals(0, PrettifyCache.hitCount());
+    }
+
+    @Test
+    public void get_shouldKeepTodayAndNotTodayVariantsApart() {
+        PrettifyCache.put(TIME, true, "10:20 PM");
+        assertNull(PrettifyCache.get(TIME, false));
+        PrettifyCache.put(TIME, false, "14 Apr 10:20 PM");
+        assertEquals("10:20 PM", PrettifyCache.get(TIME, true));
+        assertEquals("14 Apr 10:20 PM", PrettifyCache.get(TIME, false));
+    }
+
+    @Test
+    public void clear_shouldDropEntriesAndCounts() {
+        PrettifyCache.put(TIME, true, "10:20 PM");
+        assertNotNull(PrettifyCache.get(TIME, true));
+        PrettifyCache.clear();
+        assertEquals(0, PrettifyCache.hitCount());
+        assertNull(PrettifyCache.get(TIME, true));
+        assertEquals(1, PrettifyCache.missCount());
+    }
+}
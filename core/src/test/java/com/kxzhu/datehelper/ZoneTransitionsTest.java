@@ -0,0 +1,131 @@
+package com.kxzhu.datehelper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the precomputed zone offset tables.
+ */
+public class ZoneTransitionsTest {
+
+    private static final String[] ZONES = {"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe",
+            "Asia/Kolkata", "Pacific/Apia", "America/Sao_Paulo", "Africa/Casablanca"};
+
+    @After
+    public void tearDown() {
+        ZoneTransitions.setYearRange(1900, 2100);
+    }
+
+    // Partition: random instants inside and outside the covered range
+    @Test
+    public void offset_shouldMatchTimeZone_forRandomInstants() {
+        Random random = new Random(7);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (int i = 0; i < 20000; i++) {
+                // roughly 1750 to 2190
+                long time = (long) ((random.nextDouble() - 0.5) * 2 * 7_000_000_000_000L);
+                assertEquals(id + " at " + time, zone.getOffset(time), ZoneTransitions.offset(zone, time));
+            }
+        }
+    }
+
+    // Partition: the millisecond either side of each DST change
+    @Test
+    public void offset_shouldSwitchAtExactTransitionInstant() {
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        long springForward = 1710054000000L; // 2024-03-10T07:00:00Z
+        assertEquals(-5 * 3600000, ZoneTransitions.offset(zone, springForward - 1));
+        assertEquals(-4 * 3600000, ZoneTransitions.offset(zone, springForward));
+        long fallBack = 1730613600000L; // 2024-11-03T06:00:00Z
+        assertEquals(-4 * 3600000, ZoneTransitions.offset(zone, fallBack - 1));
+        assertEquals(-5 * 3600000, ZoneTransitions.offset(zone, fallBack));
+    }
+
+    // Partition: zone without transitions
+    @Test
+    public void of_shouldHaveNoTransitions_forFixedZone() {
+        assertEquals(0, ZoneTransitions.of(TimeZone.getTimeZone("UTC")).transitionCount());
+        assertTrue(ZoneTransitions.of(TimeZone.getTimeZone("America/New_York")).transitionCount() > 200);
+    }
+
+    // Partition: first lookup in a fresh table, a second decade, every decade
+    @Test
+    public void offset_shouldBuildOnlyChunkLookedUp() {
+        ZoneTransitions.clear();
+        TimeZone zone = TimeZone.getTimeZone("Europe/Berlin");
+        ZoneTransitions table = ZoneTransitions.of(zone);
+        assertEquals(0, table.builtChunkCount());
+        table.offset(1713106800000L);
+        assertEquals(1, table.builtChunkCount());
+        table.offset(1713106800000L + 3600000);
+        assertEquals(1, table.builtChunkCount());
+        table.offset(0L);
+        assertEquals(2, table.builtChunkCount());
+        // 1900 through 2100 by default
+        table.transitionCount();
+        assertEquals(21, table.builtChunkCount());
+    }
+
+    // Partition: same instance, equal copy, custom zone reusing an ID
+    @Test
+    public void of_shouldShareTable_forEqualZones_only() {
+        TimeZone zone = TimeZone.getTimeZone("Europe/Paris");
+        ZoneTransitions table = ZoneTransitions.of(zone);
+        assertSame(table, ZoneTransitions.of(zone));
+        assertSame(table, ZoneTransitions.of(TimeZone.getTimeZone("Europe/Paris")));
+
+        TimeZone custom = new SimpleTimeZone(3600000, "Europe/Paris");
+        ZoneTransitions customTable = ZoneTransitions.of(custom);
+        assertNotSame(table, customTable);
+        assertEquals(3600000, ZoneTransitions.offset(custom, 1720000000000L));
+        // looked up again, alternating with the system zone, the custom zone keeps its one table
+        assertSame(table, ZoneTransitions.of(TimeZone.getTimeZone("Europe/Paris")));
+        assertSame(customTable, ZoneTransitions.of(new SimpleTimeZone(3600000, "Europe/Paris")));
+    }
+
+    // Partition: instants and ranges either side of a chunk boundary
+    @Test
+    public void steadyOffset_shouldMatchTimeZone_acrossChunkBoundary() {
+        TimeZone zone = TimeZone.getTimeZone("Europe/London");
+        ZoneTransitions table = ZoneTransitions.of(zone);
+        long boundary = EpochCalendar.daysFromCivil(1970, 1, 1) * EpochCalendar.DAY_MILLIS;
+        for (long time = boundary - 3 * EpochCalendar.DAY_MILLIS; time < boundary + 3 * EpochCalendar.DAY_MILLIS;
+             time += 3600000) {
+            assertEquals(zone.getOffset(time), table.offset(time));
+            assertEquals(zone.getOffset(time), table.steadyOffset(time, time + EpochCalendar.DAY_MILLIS));
+        }
+        // British Summer Time ended on 1971-10-31, a chunk after it began in 1968
+        long end = 57722400000L;
+        assertEquals(ZoneTransitions.UNSTEADY, table.steadyOffset(end - 1000, end + 1000));
+    }
+
+    // Partition: narrow configured range
+    @Test
+    public void setYearRange_shouldFallBackToTimeZone_outsideRange() {
+        ZoneTransitions.setYearRange(2020, 2021);
+        TimeZone zone = TimeZone.getTimeZone("Europe/London");
+        assertTrue(ZoneTransitions.of(zone).transitionCount() <= 4);
+        long summer1990 = 646790400000L;
+        assertEquals(zone.getOffset(summer1990), ZoneTransitions.offset(zone, summer1990));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setYearRange_shouldThrowIAE_whenReversed() {
+        ZoneTransitions.setYearRange(2100, 1900);
+    }
+
+    // Partition: conversions built on the table still round-trip
+    @Test
+    public void toEpochMillis_shouldInvertToLocal_awayFromTransitions() {
+        TimeZone zone = TimeZone.getTimeZone("Australia/Lord_Howe");
+        long time = 1713106800000L;
+        assertEquals(time, EpochCalendar.toEpochMillis(EpochCalendar.toLocal(time, zone), zone));
+    }
+}